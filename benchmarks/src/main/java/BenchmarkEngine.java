@@ -0,0 +1,49 @@
+import benchmarks.Engine;
+
+import java.util.ArrayList;
+
+// Engine implementation next to the scheduler classes, in the unnamed package
+public class BenchmarkEngine implements Engine {
+    @Override
+    public Object workload(int[] arrivalTimes, int[] burstTimes) {
+        return new Workload(null, arrivalTimes, burstTimes);
+    }
+
+    @Override
+    public Object schedule(String policy, int timeQuantum, Object workload) {
+        return policyFor(policy, timeQuantum).schedule((Workload) workload);
+    }
+
+    private static SchedulingPolicy policyFor(String policy, int timeQuantum) {
+        switch (policy) {
+            case "FCFS":
+                return new FcfsPolicy();
+            case "SJF":
+                return new SjfPolicy();
+            case "SRTF":
+                return new SrtfPolicy();
+            case "RR":
+                return new RoundRobinPolicy(timeQuantum);
+            case "CFS":
+                return new CfsPolicy();
+            default:
+                throw new IllegalArgumentException("Unknown policy " + policy);
+        }
+    }
+
+    @Override
+    public Object processList(Object workload) {
+        Workload w = (Workload) workload;
+        ArrayList<Process> processes = new ArrayList<>(w.size());
+        for (int i = 0; i < w.size(); i++) {
+            processes.add(new Process(w.pid(i), w.arrivalTime(i), w.burstTime(i)));
+        }
+        return processes;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void runFcfsCli(Object processList) {
+        Scheduler.runFCFS((ArrayList<Process>) processList);
+    }
+}
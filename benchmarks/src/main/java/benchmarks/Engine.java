@@ -0,0 +1,25 @@
+package benchmarks;
+
+// The scheduler classes live in the unnamed package, which no named package can import, while
+// JMH refuses benchmarks in the unnamed package. This interface is the bridge: BenchmarkEngine
+// (unnamed package) implements it with direct calls, and the benchmarks only see Objects.
+public interface Engine {
+    // Workload over the given columns
+    Object workload(int[] arrivalTimes, int[] burstTimes);
+
+    // Runs FCFS, SJF, SRTF, RR or CFS (timeQuantum is ignored by all but RR); returns the ScheduleResult
+    Object schedule(String policy, int timeQuantum, Object workload);
+
+    // ArrayList<Process> for Scheduler.runFCFS
+    Object processList(Object workload);
+
+    void runFcfsCli(Object processList);
+
+    static Engine load() {
+        try {
+            return (Engine) Class.forName("BenchmarkEngine").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("BenchmarkEngine is missing from the classpath", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+
+// A synthetic workload shared by all benchmark threads: Poisson arrivals at about 90% CPU load
+// and bursts from one of a few distributions, all with a mean of roughly 10 time units. The seed
+// is fixed so every run measures the same trace.
+@State(Scope.Benchmark)
+public class WorkloadState {
+    static final double LOAD = 0.9;
+    static final double MEAN_BURST = 10;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int processes;
+
+    // UNIFORM: 1..19, EXPONENTIAL: memoryless, PARETO: heavy tail (alpha 1.5), a few huge jobs
+    @Param({"UNIFORM", "EXPONENTIAL", "PARETO"})
+    public String bursts;
+
+    Engine engine;
+    Object workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = Engine.load();
+        SplittableRandom random = new SplittableRandom(42);
+        int[] arrivalTimes = new int[processes];
+        int[] burstTimes = new int[processes];
+        double clock = 0;
+        for (int i = 0; i < processes; i++) {
+            clock += -Math.log(1 - random.nextDouble()) * MEAN_BURST / LOAD;
+            arrivalTimes[i] = (int) clock;
+            burstTimes[i] = burst(random);
+        }
+        workload = engine.workload(arrivalTimes, burstTimes);
+    }
+
+    private int burst(SplittableRandom random) {
+        switch (bursts) {
+            case "UNIFORM":
+                return 1 + random.nextInt(19);
+            case "EXPONENTIAL":
+                return 1 + (int) (-Math.log(1 - random.nextDouble()) * (MEAN_BURST - 1));
+            case "PARETO":
+                // x_m = 10/3 gives a mean of 10; capped so one job cannot dwarf the whole trace
+                return (int) Math.min(Math.ceil(MEAN_BURST / 3 / Math.pow(1 - random.nextDouble(), 1 / 1.5)), 100_000);
+            default:
+                throw new IllegalArgumentException("Unknown burst distribution " + bursts);
+        }
+    }
+}
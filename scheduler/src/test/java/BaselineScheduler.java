@@ -0,0 +1,208 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+// The original calculateFCFS/SJF/SRTF/RR from SchedulerVisualizer, kept as the reference the
+// policies must reproduce. The algorithms are unchanged apart from working on copies and
+// reporting by process index; SRTF and RR still step one time unit at a time, so keep the
+// workloads small. SRTF and RR never finish a zero-burst process here, so only give them positive bursts.
+final class BaselineScheduler {
+    // Completion time per process, and the Gantt blocks (process index, start, end) where the
+    // original built them: SRTF and RR merge back-to-back runs of one process, idle time is left out
+    static final class Result {
+        final int[] completionTimes;
+        final List<int[]> blocks = new ArrayList<>();
+
+        Result(int n) {
+            completionTimes = new int[n];
+        }
+    }
+
+    private BaselineScheduler() {
+    }
+
+    private static List<Process> copy(Workload workload) {
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < workload.size(); i++) {
+            processes.add(new Process(String.valueOf(i), workload.arrivalTime(i), workload.burstTime(i)));
+        }
+        return processes;
+    }
+
+    static Result fcfs(Workload workload) {
+        List<Process> currentTimeLine = copy(workload);
+        Result result = new Result(currentTimeLine.size());
+        currentTimeLine.sort(Comparator.comparingInt(p -> p.arrivalTime));
+
+        int currentTime = 0;
+        for (Process p : currentTimeLine) {
+            if (currentTime < p.arrivalTime) {
+                currentTime = p.arrivalTime;
+            }
+            p.completionTime = currentTime + p.burstTime;
+            result.blocks.add(new int[]{Integer.parseInt(p.pid), currentTime, p.completionTime});
+            result.completionTimes[Integer.parseInt(p.pid)] = p.completionTime;
+            currentTime = p.completionTime;
+        }
+        return result;
+    }
+
+    static Result sjf(Workload workload) {
+        List<Process> currentTimeLine = copy(workload);
+        int n = currentTimeLine.size();
+        Result result = new Result(n);
+        int currentTime = 0;
+        int completed = 0;
+        boolean[] isCompleted = new boolean[n];
+
+        while (completed != n) {
+            int idx = -1;
+            int minBurst = Integer.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                Process p = currentTimeLine.get(i);
+                if (p.arrivalTime <= currentTime && !isCompleted[i]) {
+                    if (p.burstTime < minBurst) {
+                        minBurst = p.burstTime;
+                        idx = i;
+                    } else if (p.burstTime == minBurst) {
+                        if (p.arrivalTime < currentTimeLine.get(idx).arrivalTime) {
+                            idx = i;
+                        }
+                    }
+                }
+            }
+
+            if (idx != -1) {
+                Process p = currentTimeLine.get(idx);
+                p.completionTime = currentTime + p.burstTime;
+                result.blocks.add(new int[]{idx, currentTime, p.completionTime});
+                result.completionTimes[idx] = p.completionTime;
+                currentTime = p.completionTime;
+                isCompleted[idx] = true;
+                completed++;
+            } else {
+                currentTime++;
+            }
+        }
+        return result;
+    }
+
+    static Result srtf(Workload workload) {
+        List<Process> currentTimeLine = copy(workload);
+        int n = currentTimeLine.size();
+        Result result = new Result(n);
+        int currentTime = 0;
+        int completed = 0;
+        String lastPid = "";
+        int blockStart = 0;
+
+        while (completed != n) {
+            int idx = -1;
+            int minRemaining = Integer.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                Process p = currentTimeLine.get(i);
+                if (p.arrivalTime <= currentTime && p.remainingTime > 0) {
+                    if (p.remainingTime < minRemaining) {
+                        minRemaining = p.remainingTime;
+                        idx = i;
+                    }
+                }
+            }
+
+            if (idx != -1) {
+                Process p = currentTimeLine.get(idx);
+                if (!p.pid.equals(lastPid)) {
+                    addBlock(result, lastPid, blockStart, currentTime);
+                    blockStart = currentTime;
+                    lastPid = p.pid;
+                }
+                p.remainingTime--;
+                currentTime++;
+                if (p.remainingTime == 0) {
+                    result.completionTimes[idx] = currentTime;
+                    completed++;
+                    addBlock(result, p.pid, blockStart, currentTime);
+                    lastPid = "";
+                }
+            } else {
+                if (!lastPid.equals("Idle")) {
+                    addBlock(result, lastPid, blockStart, currentTime);
+                    blockStart = currentTime;
+                    lastPid = "Idle";
+                }
+                currentTime++;
+            }
+        }
+        return result;
+    }
+
+    static Result roundRobin(Workload workload, int timeQuanta) {
+        List<Process> currentTimeLine = copy(workload);
+        int n = currentTimeLine.size();
+        Result result = new Result(n);
+        int currentTime = 0;
+        int completed = 0;
+        int addedToQueue = 0;
+        String lastPid = "";
+        int blockStart = 0;
+        Queue<Process> processQueue = new LinkedList<>();
+        boolean[] isAddedToQueue = new boolean[n];
+
+        while (completed != n) {
+            for (int i = 0; i < n && addedToQueue < n; i++) {
+                Process p = currentTimeLine.get(i);
+                if (p.arrivalTime <= currentTime && p.remainingTime > 0 && !isAddedToQueue[i]) {
+                    isAddedToQueue[i] = true;
+                    processQueue.add(p);
+                    addedToQueue++;
+                }
+            }
+
+            if (!processQueue.isEmpty()) {
+                Process p = processQueue.poll();
+                if (!p.pid.equals(lastPid)) {
+                    addBlock(result, lastPid, blockStart, currentTime);
+                    blockStart = currentTime;
+                    lastPid = p.pid;
+                }
+                int newRemainingTime = Math.max(0, p.remainingTime - timeQuanta);
+                currentTime += Math.min(timeQuanta, p.remainingTime - newRemainingTime);
+                p.remainingTime = newRemainingTime;
+
+                if (p.remainingTime == 0) {
+                    result.completionTimes[Integer.parseInt(p.pid)] = currentTime;
+                    completed++;
+                    addBlock(result, p.pid, blockStart, currentTime);
+                    lastPid = "";
+                } else {
+                    for (int i = 0; i < n && addedToQueue < n; i++) {
+                        Process q = currentTimeLine.get(i);
+                        if (q.arrivalTime <= currentTime && q.remainingTime > 0 && !isAddedToQueue[i]) {
+                            isAddedToQueue[i] = true;
+                            processQueue.add(q);
+                            addedToQueue++;
+                        }
+                    }
+                    processQueue.add(p);
+                }
+            } else {
+                if (!lastPid.equals("Idle")) {
+                    addBlock(result, lastPid, blockStart, currentTime);
+                    blockStart = currentTime;
+                    lastPid = "Idle";
+                }
+                currentTime++;
+            }
+        }
+        return result;
+    }
+
+    // The original added a block for the previous owner on every switch and dropped idle ones at the end
+    private static void addBlock(Result result, String pid, int start, int end) {
+        if (!pid.equals("") && !pid.equals("Idle")) {
+            result.blocks.add(new int[]{Integer.parseInt(pid), start, end});
+        }
+    }
+}
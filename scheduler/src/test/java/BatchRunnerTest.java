@@ -0,0 +1,90 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchRunnerTest {
+    @TempDir
+    Path dir;
+
+    // Many more traces than permits, the early ones the slowest, so rows finish out of order; the
+    // summary must still list them trace by trace, policies in the order given
+    @Test
+    void rowsComeOutInInputOrder() throws IOException, InterruptedException {
+        Random random = new Random(23);
+        int traceCount = 24;
+        for (int t = 0; t < traceCount; t++) {
+            Path trace = dir.resolve(String.format("trace%02d.csv", t));
+            if (t == 5) {
+                Files.writeString(trace, "1,2\nnot a record\n");
+                continue;
+            }
+            Workload workload = TestWorkloads.random(random, (traceCount - t) * 2000, (traceCount - t) * 4000, 1, 9);
+            TraceFile.writeCsv(workload, trace);
+        }
+        List<SchedulingPolicy> policies = List.of(new FcfsPolicy(), new SrtfPolicy(), new RoundRobinPolicy(3));
+        List<Path> traces = BatchRunner.tracesIn(dir, null);
+        assertEquals(traceCount, traces.size());
+
+        for (int cores : new int[]{1, 2}) {
+            StringWriter out = new StringWriter();
+            int failures = new BatchRunner(traces, policies, BatchRunner.Format.CSV, cores).run(out);
+            assertEquals(policies.size(), failures, "one bad trace, a row per policy");
+
+            String[] lines = out.toString().split("\n");
+            assertEquals(1 + traceCount * policies.size(), lines.length, "header and rows");
+            List<String> expected = new ArrayList<>();
+            List<String> actual = new ArrayList<>();
+            for (Path trace : traces) {
+                for (SchedulingPolicy policy : policies) {
+                    expected.add(trace.getFileName() + "," + policy.description());
+                }
+            }
+            for (int i = 1; i < lines.length; i++) {
+                String[] fields = lines[i].split(",");
+                actual.add(fields[0] + "," + fields[1]);
+            }
+            assertEquals(expected, actual, cores + " cores");
+            assertTrue(lines[1 + 5 * policies.size()].contains(":2: expected arrival,burst"), lines[1 + 5 * policies.size()]);
+        }
+    }
+
+    // The summary writer for "-" must flush on close but leave standard output open
+    @Test
+    void closingTheStdoutWriterKeepsStdoutOpen() throws IOException {
+        boolean[] closed = {false};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(bytes, false, StandardCharsets.UTF_8));
+        try {
+            try (Writer out = BatchRunner.open("-")) {
+                out.write("summary\n");
+            }
+            assertFalse(closed[0], "standard output was closed");
+            System.out.print("after\n");
+            System.out.flush();
+        } finally {
+            System.setOut(stdout);
+        }
+        assertEquals("summary\nafter\n", bytes.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// CFS on small workloads traced by hand: slices are (process, start, end) on CPU 0, and the
+// timeline merges back-to-back slices of the same process
+class CfsPolicyTest {
+    // Equal weights split each 6-unit period evenly; on equal vruntimes the lower index goes first
+    @Test
+    void equalNiceSharesTheCpuEvenly() {
+        Workload workload = new Workload.Builder()
+                .add("P1", 0, 6, 0)
+                .add("P2", 0, 6, 0)
+                .build();
+        ScheduleResult result = new CfsPolicy(6, 1).schedule(workload);
+        assertEquals(List.of("0:0@0-3", "0:1@3-6", "0:0@6-9", "0:1@9-12"), TestWorkloads.slices(result));
+        assertEquals(9, result.completionTime(0));
+        assertEquals(12, result.completionTime(1));
+        assertNull(result.checkpoints(), "CFS never resumes, so it keeps no checkpoints");
+    }
+
+    // Nice 0 (weight 1024) against nice 5 (weight 335), period 8: P1's share is 8*1024/1359 = 6 and
+    // P2's is 1. A slice of 1 adds less vruntime for P2 than 6 do for P1, so P2 runs twice per
+    // period (merged into one slice of 2): 6:2 of the CPU, the weights' 3:1
+    @Test
+    void lowerNiceGetsProportionallyMoreCpu() {
+        Workload workload = new Workload.Builder()
+                .add("P1", 0, 60, 0)
+                .add("P2", 0, 60, 5)
+                .build();
+        ScheduleResult result = new CfsPolicy(8, 1).schedule(workload);
+        assertEquals(List.of("0:0@0-6", "0:1@6-8", "0:0@8-14", "0:1@14-16", "0:0@16-22", "0:1@22-24"),
+                TestWorkloads.slices(result).subList(0, 6));
+
+        // CPU time over the first eight periods
+        long[] cpuTime = new long[2];
+        Timeline timeline = result.timeline(0);
+        for (int i = 0; i < timeline.size() && timeline.startTime(i) < 64; i++) {
+            cpuTime[timeline.processIndex(i)] += Math.min(timeline.endTime(i), 64) - timeline.startTime(i);
+        }
+        assertEquals(48, cpuTime[0]);
+        assertEquals(16, cpuTime[1]);
+    }
+
+    // Nice 19 (weight 15) would get 6*15/1039 = 0 of the period; the minimum granularity gives it 2
+    @Test
+    void minimumGranularityBoundsTheSlice() {
+        Workload workload = new Workload.Builder()
+                .add("P1", 0, 20, 0)
+                .add("P2", 0, 2, 19)
+                .build();
+        ScheduleResult result = new CfsPolicy(6, 2).schedule(workload);
+        assertEquals(List.of("0:0@0-5", "0:1@5-7", "0:0@7-22"), TestWorkloads.slices(result));
+        assertEquals(7, result.completionTime(1));
+    }
+
+    // A newcomer starts at the queue's minimum vruntime rather than 0, so P2 arriving at 10 does
+    // not get the CPU to itself for the 12 units P1 has already run: P1 finishes its slice of the
+    // shared period first (index tie-break), then they alternate
+    @Test
+    void newcomerStartsAtMinimumVruntime() {
+        Workload workload = new Workload.Builder()
+                .add("P1", 0, 20, 0)
+                .add("P2", 10, 4, 0)
+                .build();
+        ScheduleResult result = new CfsPolicy(6, 1).schedule(workload);
+        assertEquals(List.of("0:0@0-15", "0:1@15-18", "0:0@18-21", "0:1@21-22", "0:0@22-24"),
+                TestWorkloads.slices(result));
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Empty workloads, zero-burst processes, arrival and burst ties and idle gaps, for every policy
+class EdgeCaseTest {
+    // P1 runs first; P2 (zero burst), P3 and P4 (equal bursts) arrive together at 1; the CPU then
+    // idles until P5 (zero burst) at 10 and P6 at 12
+    private static final Workload EDGES = new Workload.Builder()
+            .add(0, 3).add(1, 0).add(1, 2).add(1, 2).add(10, 0).add(12, 1).build();
+
+    private static List<SchedulingPolicy> policies() {
+        List<SchedulingPolicy> policies = new ArrayList<>(PolicyComparison.allPolicies(2));
+        policies.add(new MultiCpuPolicy(new FcfsPolicy(), 3, false, 0));
+        policies.add(new MultiCpuPolicy(new RoundRobinPolicy(2), 2, true, 1));
+        policies.add(new MultiCpuPolicy(new SrtfPolicy(), 2, true, 0));
+        return policies;
+    }
+
+    @Test
+    void emptyWorkload() {
+        Workload empty = new Workload.Builder().build();
+        for (SchedulingPolicy policy : policies()) {
+            ScheduleResult result = policy.schedule(empty);
+            ScheduleMetrics metrics = ScheduleMetrics.of(policy, result);
+            assertEquals(0, result.size(), policy.description());
+            assertEquals(0, result.makespan(), policy.description());
+            assertEquals(0, metrics.averageWaitingTime(), policy.description());
+            assertEquals(0, metrics.contextSwitches(), policy.description());
+            assertEquals(0, PlaybackIndex.build(result).seek(0).arrived, policy.description());
+        }
+    }
+
+    @Test
+    void zeroBurstProcessesCompleteWithoutSlices() {
+        for (SchedulingPolicy policy : policies()) {
+            ScheduleResult result = policy.schedule(EDGES);
+            MultiCpuPolicyTest.assertValid(EDGES, result, policy.description());
+            for (int p : new int[]{1, 4}) {
+                assertTrue(result.completionTime(p) >= EDGES.arrivalTime(p), policy.description());
+                assertEquals(result.completionTime(p) - EDGES.arrivalTime(p), result.responseTime(p), policy.description());
+            }
+            assertEquals(10, result.completionTime(4), policy.description() + ": zero burst on an idle CPU");
+        }
+    }
+
+    @Test
+    void tiesAndIdleGapOnOneCpu() {
+        // Arrival ties go in entry order, equal bursts by arrival then entry order; the idle gap stays a hole
+        String expected = "[0:0@0-3, 0:2@3-5, 0:3@5-7, 0:5@12-13]";
+        assertEquals(expected, TestWorkloads.slices(new FcfsPolicy().schedule(EDGES)).toString());
+        assertEquals(expected, TestWorkloads.slices(new SjfPolicy().schedule(EDGES)).toString());
+        assertEquals(expected, TestWorkloads.slices(new SrtfPolicy().schedule(EDGES)).toString());
+        assertEquals("[0:0@0-2, 0:2@2-4, 0:3@4-6, 0:0@6-7, 0:5@12-13]",
+                TestWorkloads.slices(new RoundRobinPolicy(2).schedule(EDGES)).toString());
+        int[] fcfsCompletions = {3, 3, 5, 7, 10, 13};
+        ScheduleResult fcfs = new FcfsPolicy().schedule(EDGES);
+        for (int i = 0; i < fcfsCompletions.length; i++) {
+            assertEquals(fcfsCompletions[i], fcfs.completionTime(i), "FCFS completion of process " + i);
+        }
+        // SRTF picks the zero-burst arrival as soon as it is the shortest, so it completes on arrival
+        assertEquals(1, new SrtfPolicy().schedule(EDGES).completionTime(1));
+    }
+
+    @Test
+    void identicalProcessesKeepEntryOrder() {
+        Workload.Builder builder = new Workload.Builder();
+        for (int i = 0; i < 5; i++) {
+            builder.add(4, 3);
+        }
+        Workload same = builder.build();
+        for (SchedulingPolicy policy : new SchedulingPolicy[]{new FcfsPolicy(), new SjfPolicy(), new SrtfPolicy()}) {
+            ScheduleResult result = policy.schedule(same);
+            for (int i = 0; i < 5; i++) {
+                assertEquals(7 + 3 * i, result.completionTime(i), policy.description() + ": process " + i);
+            }
+        }
+    }
+}
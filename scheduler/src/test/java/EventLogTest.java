@@ -0,0 +1,87 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Writing a schedule to an event log and replaying it must give back the same schedule, with
+// the same PIDs, nice values and metrics
+class EventLogTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripGivesTheSameSchedule() throws IOException {
+        SplittableRandom random = new SplittableRandom(10);
+        Path path = dir.resolve("schedule.evl");
+        for (int t = 0; t < 300; t++) {
+            int n = random.nextInt(0, 30);
+            Workload.Builder builder = new Workload.Builder();
+            for (int i = 0; i < n; i++) {
+                if (random.nextInt(4) == 0) {
+                    builder.add("X" + i, random.nextInt(40), random.nextInt(0, 9), random.nextInt(-20, 20));
+                } else {
+                    builder.add(random.nextInt(40), random.nextInt(0, 9));
+                }
+            }
+            Workload workload = builder.build();
+            List<SchedulingPolicy> policies = new ArrayList<>(PolicyComparison.allPolicies(1 + random.nextInt(4)));
+            policies.add(new MultiCpuPolicy(new RoundRobinPolicy(2), 1 + random.nextInt(4), random.nextBoolean(), random.nextInt(3)));
+            policies.add(new MultiCpuPolicy(new SrtfPolicy(), 1 + random.nextInt(4), random.nextBoolean(), 0));
+            for (SchedulingPolicy policy : policies) {
+                String what = policy.description() + " #" + t;
+                ScheduleResult result = policy.schedule(workload);
+                EventLog.write(result, policy.description(), path);
+                EventLog log = EventLog.open(path);
+                ScheduleResult replayed = log.toResult();
+
+                assertEquals(policy.description(), log.policy(), what);
+                for (long e = 1; e < log.size(); e++) {
+                    assertTrue(log.time(e) >= log.time(e - 1), what + ": events out of time order");
+                }
+                TestWorkloads.assertSameSchedule(result, replayed, what);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(workload.pid(i), replayed.workload().pid(i), what + ": PID");
+                    assertEquals(workload.arrivalTime(i), replayed.workload().arrivalTime(i), what + ": arrival");
+                    assertEquals(workload.burstTime(i), replayed.workload().burstTime(i), what + ": burst");
+                    assertEquals(workload.nice(i), replayed.workload().nice(i), what + ": nice");
+                }
+                assertEquals(ScheduleMetrics.of(policy, result).report(), ScheduleMetrics.of(log.policy(), replayed).report(), what);
+            }
+        }
+    }
+
+    // An emitter outside the policies writes the events itself: FCFS on P1 (0, 2) and P2 (1, 1)
+    @Test
+    void writerBuildsAReadableLog() throws IOException {
+        Workload workload = new Workload.Builder().add(0, 2).add(1, 1).build();
+        Path path = dir.resolve("emitted.evl");
+        try (EventLog.Writer writer = new EventLog.Writer(path, workload, 1)) {
+            writer.arrival(0, 0);
+            writer.dispatch(0, 0, 0);
+            writer.arrival(1, 1);
+            writer.complete(2, 0, 0);
+            writer.dispatch(2, 1, 0);
+            writer.complete(3, 1, 0);
+            writer.finish("FCFS");
+        }
+        EventLog log = EventLog.open(path);
+        assertEquals("FCFS", log.policy());
+        TestWorkloads.assertSameSchedule(new FcfsPolicy().schedule(workload), log.toResult(), "emitted log");
+    }
+
+    @Test
+    void rejectsFilesThatAreNotLogs() throws IOException {
+        Path path = dir.resolve("not-a-log.evl");
+        Files.writeString(path, "P1,0,3\nP2,1,2\n");
+        assertThrows(IOException.class, () -> EventLog.open(path));
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Percentiles against exact ones from a sorted array: equal below 64, within 1/64 above
+class LatencyHistogramTest {
+    private static final double[] FRACTIONS = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+
+    @Test
+    void exactBelowSixtyFour() {
+        Random random = new Random(17);
+        long[] values = new long[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(64);
+        }
+        LatencyHistogram histogram = histogramOf(values);
+        Arrays.sort(values);
+        for (double f : FRACTIONS) {
+            assertEquals(exactPercentile(values, f), histogram.percentile(f), "p" + f);
+        }
+    }
+
+    @Test
+    void withinTheErrorBoundOnRandomDistributions() {
+        Random random = new Random(18);
+        for (int t = 0; t < 60; t++) {
+            long[] values = new long[1 + random.nextInt(20_000)];
+            for (int i = 0; i < values.length; i++) {
+                switch (t % 3) {
+                    case 0:
+                        values[i] = random.nextInt(10_000);
+                        break;
+                    case 1:
+                        values[i] = (long) (-Math.log(1 - random.nextDouble()) * 500);
+                        break;
+                    default:
+                        values[i] = (long) Math.min(Math.pow(1 - random.nextDouble(), -1 / 0.8), 1e15); // heavy tail
+                }
+            }
+            LatencyHistogram histogram = histogramOf(values);
+            Arrays.sort(values);
+            for (double f : FRACTIONS) {
+                assertWithinBound(exactPercentile(values, f), histogram.percentile(f), "p" + f + " #" + t);
+            }
+            assertEquals(values[values.length - 1], histogram.max());
+            assertEquals(Arrays.stream(values).average().orElse(0), histogram.mean(), 1e-6 * Math.max(1, histogram.mean()));
+        }
+    }
+
+    // Single values at and around every bucket edge, up to Long.MAX_VALUE: the right bucket, and its
+    // middle never above the max
+    @Test
+    void bucketEdgesAcrossTheWholeRange() {
+        for (int exponent = 5; exponent < 63; exponent++) {
+            for (long sub = 32; sub < 64; sub += 7) {
+                long edge = sub << (exponent - 5);
+                for (long v : new long[]{edge - 1, edge, edge + 1}) {
+                    LatencyHistogram histogram = new LatencyHistogram();
+                    histogram.record(v);
+                    assertWithinBound(v, histogram.percentile(0.5), "value " + v);
+                    assertTrue(histogram.percentile(1) <= v, "value " + v);
+                }
+            }
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(Long.MAX_VALUE - (1L << 56));
+        assertWithinBound(Long.MAX_VALUE - (1L << 56), histogram.percentile(0.5), "near Long.MAX_VALUE");
+        assertWithinBound(Long.MAX_VALUE, histogram.percentile(1), "Long.MAX_VALUE");
+    }
+
+    @Test
+    void addGivesTheSameAsRecordingEverything() {
+        Random random = new Random(19);
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            long v = random.nextInt(1 << 20);
+            all.record(v);
+            (i % 3 == 0 ? first : second).record(v);
+        }
+        first.add(second);
+        assertEquals(all.count(), first.count());
+        assertEquals(all.max(), first.max());
+        for (double f : FRACTIONS) {
+            assertEquals(all.percentile(f), first.percentile(f), "p" + f);
+        }
+    }
+
+    @Test
+    void emptyAndNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.99));
+        assertEquals(0, histogram.mean());
+        histogram.record(-5); // counted as 0
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.percentile(1));
+    }
+
+    private static LatencyHistogram histogramOf(long[] values) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v : values) {
+            histogram.record(v);
+        }
+        return histogram;
+    }
+
+    // As LatencyHistogram.percentile defines it: the value at rank ceil(fraction * n), at least 1
+    private static long exactPercentile(long[] sorted, double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * sorted.length));
+        return sorted[(int) rank - 1];
+    }
+
+    private static void assertWithinBound(long exact, long reported, String what) {
+        if (exact < 64) {
+            assertEquals(exact, reported, what);
+        } else {
+            assertTrue(Math.abs((double) reported - exact) <= exact / 64.0, what + ": " + reported + " for " + exact);
+        }
+    }
+}
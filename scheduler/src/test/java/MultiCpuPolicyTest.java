@@ -0,0 +1,109 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiCpuPolicyTest {
+    @Test
+    void oneCpuMatchesSingleCpuPolicy() {
+        Random random = new Random(7);
+        for (int t = 0; t < 300; t++) {
+            Workload workload = TestWorkloads.random(random, random.nextInt(t % 50 == 0 ? 3000 : 40), 200, 0, 9);
+            for (SchedulingPolicy base : bases(random)) {
+                ScheduleResult single = base.schedule(workload);
+                for (boolean perCpuQueues : new boolean[]{false, true}) {
+                    TestWorkloads.assertSameSchedule(single, new MultiCpuPolicy(base, 1, perCpuQueues, 0).schedule(workload),
+                            base.description() + (perCpuQueues ? " per-CPU" : " global") + " #" + t);
+                }
+            }
+        }
+    }
+
+    // Every process gets exactly its burst, never before it arrives, never on two CPUs at once,
+    // and a CPU never runs two slices at once
+    @Test
+    void schedulesAreValidOnManyCpus() {
+        Random random = new Random(8);
+        for (int t = 0; t < 300; t++) {
+            Workload workload = TestWorkloads.random(random, random.nextInt(t % 50 == 0 ? 3000 : 60), 300, 0, 30);
+            for (SchedulingPolicy base : bases(random)) {
+                int cpus = 2 + random.nextInt(15);
+                boolean perCpuQueues = random.nextBoolean();
+                int migrationCost = random.nextInt(3);
+                MultiCpuPolicy policy = new MultiCpuPolicy(base, cpus, perCpuQueues, migrationCost);
+                assertValid(workload, policy.schedule(workload), policy.description() + " #" + t);
+            }
+        }
+    }
+
+    @Test
+    void perCpuQueuesKeepBusyCpusBalanced() {
+        // Enough long jobs at once for every CPU, so no CPU should sit idle while others queue
+        Workload.Builder builder = new Workload.Builder();
+        for (int i = 0; i < 64; i++) {
+            builder.add(0, 100);
+        }
+        ScheduleResult result = new MultiCpuPolicy(new FcfsPolicy(), 8, true, 0).schedule(builder.build());
+        assertEquals(800, result.makespan());
+        assertEquals(0, ScheduleMetrics.of("FCFS", result).loadImbalance(), 1e-9);
+    }
+
+    @Test
+    void rejectsBadSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiCpuPolicy(new FcfsPolicy(), 0, false, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MultiCpuPolicy(new FcfsPolicy(), 2, true, -1));
+        assertThrows(IllegalArgumentException.class, () -> new MultiCpuPolicy(new CfsPolicy(), 2, true, 0));
+        assertFalse(MultiCpuPolicy.supports(new CfsPolicy()));
+        assertTrue(MultiCpuPolicy.supports(new SrtfPolicy()));
+    }
+
+    private static List<SchedulingPolicy> bases(Random random) {
+        List<SchedulingPolicy> bases = new ArrayList<>();
+        bases.add(new FcfsPolicy());
+        bases.add(new SjfPolicy());
+        bases.add(new SrtfPolicy());
+        bases.add(new RoundRobinPolicy(1 + random.nextInt(4)));
+        return bases;
+    }
+
+    static void assertValid(Workload workload, ScheduleResult result, String what) {
+        int n = workload.size();
+        long[] ran = new long[n];
+        int[] lastEnd = new int[n];
+        List<int[]> all = new ArrayList<>();
+        for (int cpu = 0; cpu < result.cpuCount(); cpu++) {
+            Timeline timeline = result.timeline(cpu);
+            int previousEnd = Integer.MIN_VALUE;
+            for (int i = 0; i < timeline.size(); i++) {
+                int p = timeline.processIndex(i);
+                int start = timeline.startTime(i);
+                int end = timeline.endTime(i);
+                assertTrue(start >= previousEnd, what + ": overlapping slices on CPU " + cpu);
+                assertTrue(start >= workload.arrivalTime(p), what + ": process " + p + " runs before it arrives");
+                previousEnd = end;
+                ran[p] += end - start;
+                lastEnd[p] = Math.max(lastEnd[p], end);
+                all.add(new int[]{p, start, end});
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            assertEquals(workload.burstTime(i), ran[i], what + ": CPU time of process " + i);
+            assertTrue(result.completionTime(i) >= workload.arrivalTime(i), what + ": process " + i + " completes before it arrives");
+            if (workload.burstTime(i) > 0) {
+                assertEquals(lastEnd[i], result.completionTime(i), what + ": completion of process " + i);
+            }
+        }
+        all.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        for (int i = 1; i < all.size(); i++) {
+            if (all.get(i)[0] == all.get(i - 1)[0]) {
+                assertTrue(all.get(i)[1] >= all.get(i - 1)[2], what + ": process " + all.get(i)[0] + " on two CPUs at once");
+            }
+        }
+    }
+}
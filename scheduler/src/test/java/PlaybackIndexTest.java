@@ -0,0 +1,78 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// seek() starts from a checkpoint and replays the rest; it must agree with replaying the whole
+// schedule from time 0
+class PlaybackIndexTest {
+    @Test
+    void seekMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int t = 0; t < 300; t++) {
+            Workload workload = TestWorkloads.random(random, random.nextInt(t % 50 == 0 ? 5000 : 60), 300, 0, 11);
+            List<SchedulingPolicy> policies = new ArrayList<>(PolicyComparison.allPolicies(1 + random.nextInt(4)));
+            policies.add(new MultiCpuPolicy(new RoundRobinPolicy(2), 1 + random.nextInt(6), random.nextBoolean(), random.nextInt(2)));
+            policies.add(new MultiCpuPolicy(new SrtfPolicy(), 1 + random.nextInt(6), random.nextBoolean(), 0));
+            for (SchedulingPolicy policy : policies) {
+                ScheduleResult result = policy.schedule(workload);
+                PlaybackIndex index = PlaybackIndex.build(result);
+                int makespan = result.makespan();
+                for (int k = 0; k < 20; k++) {
+                    int time = k == 0 ? makespan : k == 1 ? 0 : random.nextInt(makespan + 3) - 1;
+                    assertEquals(bruteForce(result, time), format(index.seek(time)), policy.description() + " #" + t + " at " + time);
+                }
+            }
+        }
+    }
+
+    private static String format(PlaybackIndex.State state) {
+        return Arrays.toString(state.running) + Arrays.toString(state.runningRemaining) + Arrays.toString(state.waiting)
+                + Arrays.toString(state.waitingRemaining) + " " + state.arrived + "/" + state.completed;
+    }
+
+    private static String bruteForce(ScheduleResult result, int time) {
+        Workload workload = result.workload();
+        int n = workload.size();
+        long[] remaining = new long[n];
+        for (int i = 0; i < n; i++) {
+            remaining[i] = workload.burstTime(i);
+        }
+        int cpus = result.cpuCount();
+        int[] running = new int[cpus];
+        int[] runningRemaining = new int[cpus];
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            Timeline timeline = result.timeline(cpu);
+            for (int s = 0; s < timeline.size(); s++) {
+                if (timeline.startTime(s) < time) {
+                    remaining[timeline.processIndex(s)] -= Math.min(timeline.endTime(s), time) - timeline.startTime(s);
+                }
+            }
+            running[cpu] = timeline.processAt(time);
+        }
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            runningRemaining[cpu] = running[cpu] == -1 ? -1 : (int) remaining[running[cpu]];
+        }
+        List<Integer> waiting = new ArrayList<>();
+        List<Integer> waitingRemaining = new ArrayList<>();
+        int arrived = 0;
+        int completed = 0;
+        for (int p : workload.arrivalOrder()) {
+            if (workload.arrivalTime(p) > time) {
+                continue;
+            }
+            arrived++;
+            if (result.completionTime(p) <= time) {
+                completed++;
+            } else if (Arrays.stream(running).noneMatch(r -> r == p)) {
+                waiting.add(p);
+                waitingRemaining.add((int) remaining[p]);
+            }
+        }
+        return Arrays.toString(running) + Arrays.toString(runningRemaining) + waiting + waitingRemaining + " " + arrived + "/" + completed;
+    }
+}
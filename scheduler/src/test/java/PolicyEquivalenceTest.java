@@ -0,0 +1,69 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The event-driven policies against the original calculate* methods (BaselineScheduler):
+// the same completion times and the same Gantt blocks, on small random workloads
+class PolicyEquivalenceTest {
+    private static final int WORKLOADS = 400;
+
+    @Test
+    void fcfsMatchesBaseline() {
+        Random random = new Random(1);
+        for (int t = 0; t < WORKLOADS; t++) {
+            Workload workload = TestWorkloads.random(random, 1 + random.nextInt(40), 60, 1, 10);
+            assertMatches(BaselineScheduler.fcfs(workload), new FcfsPolicy().schedule(workload), "FCFS #" + t);
+        }
+    }
+
+    @Test
+    void sjfMatchesBaseline() {
+        Random random = new Random(2);
+        for (int t = 0; t < WORKLOADS; t++) {
+            Workload workload = TestWorkloads.random(random, 1 + random.nextInt(40), 60, 1, 10);
+            assertMatches(BaselineScheduler.sjf(workload), new SjfPolicy().schedule(workload), "SJF #" + t);
+        }
+    }
+
+    @Test
+    void srtfMatchesBaseline() {
+        Random random = new Random(3);
+        for (int t = 0; t < WORKLOADS; t++) {
+            Workload workload = TestWorkloads.random(random, 1 + random.nextInt(40), 60, 1, 10);
+            assertMatches(BaselineScheduler.srtf(workload), new SrtfPolicy().schedule(workload), "SRTF #" + t);
+        }
+    }
+
+    @Test
+    void roundRobinMatchesBaseline() {
+        Random random = new Random(4);
+        for (int t = 0; t < WORKLOADS; t++) {
+            Workload workload = TestWorkloads.random(random, 1 + random.nextInt(40), 60, 1, 10);
+            int quantum = 1 + random.nextInt(5);
+            assertMatches(BaselineScheduler.roundRobin(workload, quantum), new RoundRobinPolicy(quantum).schedule(workload),
+                    "RR q=" + quantum + " #" + t);
+        }
+    }
+
+    private static void assertMatches(BaselineScheduler.Result expected, ScheduleResult actual, String what) {
+        assertArrayEquals(expected.completionTimes, completionTimes(actual), what + ": completion times");
+        List<String> blocks = new ArrayList<>();
+        for (int[] block : expected.blocks) {
+            blocks.add("0:" + block[0] + "@" + block[1] + "-" + block[2]);
+        }
+        assertEquals(blocks, TestWorkloads.slices(actual), what + ": Gantt blocks");
+    }
+
+    private static int[] completionTimes(ScheduleResult result) {
+        int[] times = new int[result.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = result.completionTime(i);
+        }
+        return times;
+    }
+}
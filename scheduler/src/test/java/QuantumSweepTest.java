@@ -0,0 +1,47 @@
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantumSweepTest {
+    // Every quantum's metrics and cached schedule are what RoundRobinPolicy(q) gives on its own
+    @Test
+    void sweepMatchesDirectRoundRobin() {
+        Random random = new Random(11);
+        for (int t = 0; t < 20; t++) {
+            Workload workload = TestWorkloads.random(random, 1 + random.nextInt(200), 400, 0, 30);
+            QuantumSweep sweep = QuantumSweep.run(workload, 1, 40);
+            assertEquals(40, sweep.cachedCount());
+            for (int q = 1; q <= 40; q++) {
+                RoundRobinPolicy policy = new RoundRobinPolicy(q);
+                ScheduleResult direct = policy.schedule(workload);
+                String what = "q=" + q + " #" + t;
+                assertEquals(ScheduleMetrics.of(policy, direct).report(), sweep.metrics(q).report(), what);
+                assertEquals(policy.description(), sweep.metrics(q).policy(), what);
+                TestWorkloads.assertSameSchedule(direct, sweep.result(q), what);
+            }
+        }
+    }
+
+    // With no room for any schedule the metrics are still there, and result() is null so the
+    // caller knows to simulate that quantum again
+    @Test
+    void schedulesPastTheCacheBudgetAreDropped() {
+        Workload workload = TestWorkloads.random(new Random(12), 100, 300, 1, 20);
+        QuantumSweep sweep = QuantumSweep.run(workload, 1, 10, 0);
+        assertEquals(0, sweep.cachedCount());
+        for (int q = 1; q <= 10; q++) {
+            RoundRobinPolicy policy = new RoundRobinPolicy(q);
+            assertNull(sweep.result(q));
+            assertEquals(ScheduleMetrics.of(policy, policy.schedule(workload)).report(), sweep.metrics(q).report());
+        }
+
+        int budget = new RoundRobinPolicy(10).schedule(workload).timeline().size();
+        QuantumSweep partial = QuantumSweep.run(workload, 10, 10, budget);
+        assertEquals(1, partial.cachedCount());
+        assertTrue(partial.result(10) != null && partial.result(11) == null);
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// reschedule() after appending processes must give exactly what a full schedule() gives, and
+// must leave the previous result as it was
+class RescheduleTest {
+    @Test
+    void rescheduleMatchesFullRun() {
+        Random random = new Random(5);
+        int resumed = 0;
+        for (int t = 0; t < 300; t++) {
+            for (SchedulingPolicy policy : policies(random)) {
+                Workload workload = TestWorkloads.random(random, random.nextInt(t % 50 == 0 ? 2000 : 30), 200, 0, 9);
+                ScheduleResult previous = policy.schedule(workload);
+                for (int k = 0; k < 4; k++) {
+                    // Late arrivals can resume from a checkpoint; early ones force a rerun
+                    int arrival = random.nextInt(k % 2 == 0 ? 220 : 5000);
+                    Workload appended = workload.append(null, arrival, random.nextInt(10));
+                    if (previous.resumePoint(policy, appended) != null) {
+                        resumed++;
+                    }
+                    ScheduleResult rescheduled = policy.reschedule(previous, appended);
+                    String what = policy.description() + " #" + t + " append " + k;
+                    TestWorkloads.assertSameSchedule(policy.schedule(appended), rescheduled, what);
+                    TestWorkloads.assertSameSchedule(policy.schedule(workload), previous, what + ": previous result changed");
+                    previous = rescheduled;
+                    workload = appended;
+                }
+            }
+        }
+        assertTrue(resumed > 0, "no reschedule resumed from a checkpoint");
+    }
+
+    @Test
+    void siblingAppendsDoNotShareState() {
+        Random random = new Random(6);
+        for (SchedulingPolicy policy : policies(random)) {
+            Workload workload = TestWorkloads.random(random, 40, 100, 1, 9);
+            ScheduleResult previous = policy.schedule(workload);
+            Workload first = workload.append(null, 300, 4);
+            Workload second = workload.append(null, 300, 7);
+            ScheduleResult firstResult = policy.reschedule(previous, first);
+            ScheduleResult secondResult = policy.reschedule(previous, second);
+            TestWorkloads.assertSameSchedule(policy.schedule(first), firstResult, policy.description() + ": first sibling");
+            TestWorkloads.assertSameSchedule(policy.schedule(second), secondResult, policy.description() + ": second sibling");
+        }
+    }
+
+    private static List<SchedulingPolicy> policies(Random random) {
+        List<SchedulingPolicy> policies = new ArrayList<>(PolicyComparison.allPolicies(1 + random.nextInt(4)));
+        policies.add(new MultiCpuPolicy(new RoundRobinPolicy(2), 1 + random.nextInt(4), random.nextBoolean(), 0));
+        return policies;
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResultCacheTest {
+    private static final Workload WORKLOAD = new Workload.Builder().add(0, 5).add(1, 3).add(2, 8).build();
+
+    // One quantum more than fits: the least recently used one goes, and a get() counts as a use
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        ResultCache cache = new ResultCache();
+        for (int q = 1; q <= ResultCache.MAX_ENTRIES; q++) {
+            put(cache, WORKLOAD, new RoundRobinPolicy(q));
+        }
+        assertNotNull(cache.get(WORKLOAD, new RoundRobinPolicy(1)));
+        put(cache, WORKLOAD, new RoundRobinPolicy(ResultCache.MAX_ENTRIES + 1));
+
+        assertEquals(ResultCache.MAX_ENTRIES, cache.size());
+        assertNotNull(cache.get(WORKLOAD, new RoundRobinPolicy(1)));
+        assertNull(cache.get(WORKLOAD, new RoundRobinPolicy(2)));
+        assertNotNull(cache.get(WORKLOAD, new RoundRobinPolicy(3)));
+        assertNotNull(cache.get(WORKLOAD, new RoundRobinPolicy(ResultCache.MAX_ENTRIES + 1)));
+    }
+
+    // Policies that differ only in a parameter must not share an entry
+    @Test
+    void keyIncludesEveryPolicyParameter() {
+        List<SchedulingPolicy> policies = List.of(
+                new FcfsPolicy(), new SjfPolicy(), new SrtfPolicy(),
+                new RoundRobinPolicy(2), new RoundRobinPolicy(3),
+                new CfsPolicy(6, 1), new CfsPolicy(8, 1), new CfsPolicy(8, 2),
+                new MultiCpuPolicy(new RoundRobinPolicy(2), 2, false, 0),
+                new MultiCpuPolicy(new RoundRobinPolicy(3), 2, false, 0),
+                new MultiCpuPolicy(new RoundRobinPolicy(2), 3, false, 0),
+                new MultiCpuPolicy(new RoundRobinPolicy(2), 2, true, 0),
+                new MultiCpuPolicy(new RoundRobinPolicy(2), 2, true, 1));
+        ResultCache cache = new ResultCache();
+        ResultCache.Entry[] entries = new ResultCache.Entry[policies.size()];
+        for (int i = 0; i < policies.size(); i++) {
+            entries[i] = put(cache, WORKLOAD, policies.get(i));
+        }
+        assertEquals(policies.size(), cache.size());
+        for (int i = 0; i < policies.size(); i++) {
+            assertSame(entries[i], cache.get(WORKLOAD, policies.get(i)), policies.get(i).description());
+        }
+    }
+
+    // The key is the workload's content, not the object: an equal workload hits, a changed one misses
+    @Test
+    void keyFollowsTheWorkloadContent() {
+        ResultCache cache = new ResultCache();
+        ResultCache.Entry entry = put(cache, WORKLOAD, new FcfsPolicy());
+        Workload same = new Workload.Builder().add(0, 5).add(1, 3).add(2, 8).build();
+        assertSame(entry, cache.get(same, new FcfsPolicy()));
+        assertNull(cache.get(new Workload.Builder().add(0, 5).add(1, 3).add(2, 9).build(), new FcfsPolicy()));
+        assertNull(cache.get(WORKLOAD.append("P4", 3, 1), new FcfsPolicy()));
+    }
+
+    private static ResultCache.Entry put(ResultCache cache, Workload workload, SchedulingPolicy policy) {
+        ScheduleResult result = policy.schedule(workload);
+        ResultCache.Entry entry = new ResultCache.Entry(result, ScheduleMetrics.of(policy, result));
+        cache.put(workload, policy, entry);
+        return entry;
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.TableModelEvent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleTableModelTest {
+    @Test
+    void pidsCompareInNaturalOrder() {
+        assertTrue(ScheduleTableModel.comparePids("P2", "P10") < 0);
+        assertTrue(ScheduleTableModel.comparePids("P10", "P2") > 0);
+        assertTrue(ScheduleTableModel.comparePids("P9", "P010") < 0, "leading zeros do not count");
+        assertTrue(ScheduleTableModel.comparePids("P007", "P7") != 0, "equal by value still has an order");
+        assertEquals(Integer.signum(ScheduleTableModel.comparePids("P007", "P7")),
+                -Integer.signum(ScheduleTableModel.comparePids("P7", "P007")));
+        assertTrue(ScheduleTableModel.comparePids("P1", "P1a") < 0);
+        assertTrue(ScheduleTableModel.comparePids("A1", "B0") < 0);
+        assertTrue(ScheduleTableModel.comparePids("job2-10", "job2-9") > 0);
+        assertEquals(0, ScheduleTableModel.comparePids("P12", "P12"));
+    }
+
+    @Test
+    void sortsOwnPidsInNaturalOrder() {
+        Workload workload = new Workload.Builder()
+                .add("P10", 0, 1)
+                .add("P2", 0, 1)
+                .add("P1", 0, 1)
+                .add("P02", 0, 1)
+                .build();
+        ScheduleTableModel model = new ScheduleTableModel();
+        model.setResult(new FcfsPolicy().schedule(workload));
+        model.sortBy(ScheduleTableModel.PID);
+        List<String> shown = new ArrayList<>();
+        for (int row = 0; row < model.getRowCount(); row++) {
+            shown.add((String) model.getValueAt(row, ScheduleTableModel.PID));
+        }
+        assertEquals(List.of("P1", "P02", "P2", "P10"), shown);
+    }
+
+    // SJF: P1 0-4, P2 4-7, P3 10-12. P4 (arrives 2, burst 1) then runs at 4-5 and pushes P2 to 5-8,
+    // so only P2's row changes and P4's is inserted
+    @Test
+    void appendUpdatesOnlyTheRowsThatChanged() {
+        Workload workload = new Workload.Builder()
+                .add(0, 4)
+                .add(1, 3)
+                .add(10, 2)
+                .build();
+        SchedulingPolicy sjf = new SjfPolicy();
+        ScheduleTableModel model = new ScheduleTableModel();
+        model.setResult(sjf.schedule(workload));
+        List<String> events = record(model);
+
+        model.setResult(sjf.schedule(workload.append("P4", 2, 1)));
+        assertEquals(List.of("update 1-1", "insert 3-3"), events);
+
+        // P5 arriving at 0 goes first: P2 moves up to 1-4 and P1 back to 5-9, while P3 and P4 keep
+        // their slots; P5 and P6 are new rows
+        events.clear();
+        Workload grown = workload.append("P4", 2, 1).append("P5", 0, 1).append("P6", 11, 1);
+        model.setResult(sjf.schedule(grown));
+        assertEquals(List.of("update 0-1", "insert 4-5"), events);
+    }
+
+    @Test
+    void otherWorkloadOrSortedTableRefreshesEverything() {
+        Workload workload = new Workload.Builder().add(0, 4).add(1, 3).build();
+        ScheduleTableModel model = new ScheduleTableModel();
+        model.setResult(new FcfsPolicy().schedule(workload));
+        List<String> events = record(model);
+
+        model.setResult(new FcfsPolicy().schedule(new Workload.Builder().add(0, 4).add(2, 3).build()));
+        assertEquals(List.of("all"), events);
+
+        events.clear();
+        model.sortBy(3);
+        model.setResult(new FcfsPolicy().schedule(workload.append("P3", 5, 1)));
+        assertEquals(List.of("all", "all"), events, "rows may move in a sorted table");
+    }
+
+    private static List<String> record(ScheduleTableModel model) {
+        List<String> events = new ArrayList<>();
+        model.addTableModelListener(e -> {
+            if (e.getLastRow() == Integer.MAX_VALUE) {
+                events.add("all");
+            } else {
+                String type = e.getType() == TableModelEvent.INSERT ? "insert" : e.getType() == TableModelEvent.UPDATE ? "update" : "delete";
+                events.add(type + " " + e.getFirstRow() + "-" + e.getLastRow());
+            }
+        });
+        return events;
+    }
+}
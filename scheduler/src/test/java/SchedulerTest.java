@@ -0,0 +1,40 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchedulerTest {
+    // The console FCFS run prints what the original printed: a line per process, zero-burst ones
+    // included, and the idle gaps between them
+    @Test
+    void runFcfsPrintsEveryProcess() {
+        ArrayList<Process> processes = new ArrayList<>(List.of(
+                new Process("P1", 2, 3), new Process("P2", 0, 0), new Process("P3", 5, 0), new Process("P4", 9, 2)));
+        String output = capture(() -> Scheduler.runFCFS(processes));
+        String gantt = output.substring(output.indexOf("Gantt Chart (simulation):"), output.indexOf("--- FCFS Results ---")).trim();
+        assertEquals(String.join(System.lineSeparator(),
+                "Gantt Chart (simulation):",
+                "0 --[P2]-- 0",
+                "0 --[IDLE]-- 2",
+                "2 --[P1]-- 5",
+                "5 --[P3]-- 5",
+                "5 --[IDLE]-- 9",
+                "9 --[P4]-- 11"), gantt);
+    }
+
+    private static String capture(Runnable run) {
+        PrintStream out = System.out;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytes, true));
+        try {
+            run.run();
+        } finally {
+            System.setOut(out);
+        }
+        return bytes.toString();
+    }
+}
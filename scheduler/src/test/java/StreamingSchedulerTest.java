@@ -0,0 +1,42 @@
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Fed the same processes in arrival order, the streaming scheduler must report what the batch
+// policy's metrics report
+class StreamingSchedulerTest {
+    @Test
+    void streamingMatchesBatchMetrics() {
+        Random random = new Random(9);
+        for (int t = 0; t < 600; t++) {
+            int n = random.nextInt(t % 100 == 0 ? 5000 : 40);
+            Workload workload = TestWorkloads.arrivalSorted(TestWorkloads.random(random, n, t % 3 == 0 ? n : 12 * n, 0, 14));
+            SchedulingPolicy[] policies = {new FcfsPolicy(), new SjfPolicy(), new SrtfPolicy(), new RoundRobinPolicy(1 + random.nextInt(5))};
+            for (SchedulingPolicy policy : policies) {
+                ScheduleResult result = policy.schedule(workload);
+                ScheduleMetrics metrics = ScheduleMetrics.of(policy, result);
+                StreamingScheduler stream = StreamingScheduler.of(policy);
+                for (int i = 0; i < n; i++) {
+                    stream.offer(workload.arrivalTime(i), workload.burstTime(i));
+                }
+                stream.finish();
+                StreamingStats stats = stream.stats();
+                String what = policy.description() + " #" + t;
+                long maxWaiting = 0;
+                for (int i = 0; i < n; i++) {
+                    maxWaiting = Math.max(maxWaiting, result.waitingTime(i));
+                }
+                assertEquals(n, stats.completed, what + ": completed");
+                assertEquals(metrics.averageWaitingTime(), stats.meanWaitingTime, 1e-6, what + ": mean waiting time");
+                assertEquals(metrics.averageTurnaroundTime(), stats.meanTurnaroundTime, 1e-6, what + ": mean turnaround time");
+                assertEquals(metrics.averageResponseTime(), stream.meanResponseTime(), 1e-6, what + ": mean response time");
+                assertEquals(metrics.contextSwitches(), stream.contextSwitches(), what + ": context switches");
+                if (n > 0) {
+                    assertEquals(maxWaiting, stats.maxWaitingTime, what + ": max waiting time");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Random workloads and schedule comparisons shared by the tests
+final class TestWorkloads {
+    private TestWorkloads() {
+    }
+
+    // n processes arriving in 0..maxArrival with bursts in minBurst..maxBurst, in random order,
+    // so arrival ties and idle gaps both come up
+    static Workload random(Random random, int n, int maxArrival, int minBurst, int maxBurst) {
+        Workload.Builder builder = new Workload.Builder(n);
+        for (int i = 0; i < n; i++) {
+            builder.add(random.nextInt(maxArrival + 1), minBurst + random.nextInt(maxBurst - minBurst + 1));
+        }
+        return builder.build();
+    }
+
+    // The same processes as 'workload', listed in arrival order
+    static Workload arrivalSorted(Workload workload) {
+        int[] order = workload.arrivalOrder();
+        Workload.Builder builder = new Workload.Builder(order.length);
+        for (int p : order) {
+            builder.add(workload.arrivalTime(p), workload.burstTime(p));
+        }
+        return builder.build();
+    }
+
+    // Slices as (process, start, end), all CPUs in CPU order
+    static List<String> slices(ScheduleResult result) {
+        List<String> slices = new ArrayList<>();
+        for (int cpu = 0; cpu < result.cpuCount(); cpu++) {
+            Timeline timeline = result.timeline(cpu);
+            for (int i = 0; i < timeline.size(); i++) {
+                slices.add(cpu + ":" + timeline.processIndex(i) + "@" + timeline.startTime(i) + "-" + timeline.endTime(i));
+            }
+        }
+        return slices;
+    }
+
+    static void assertSameSchedule(ScheduleResult expected, ScheduleResult actual, String what) {
+        assertEquals(expected.size(), actual.size(), what + ": process count");
+        assertEquals(expected.cpuCount(), actual.cpuCount(), what + ": CPU count");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.completionTime(i), actual.completionTime(i), what + ": completion of process " + i);
+        }
+        assertEquals(slices(expected), slices(actual), what + ": slices");
+    }
+}
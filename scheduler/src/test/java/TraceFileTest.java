@@ -0,0 +1,137 @@
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The trace formats must give back what was written, however the reader's chunks cut the file
+class TraceFileTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrip() throws IOException {
+        Workload workload = new Workload.Builder()
+                .add(5, 3)
+                .add(0, 2)
+                .add(7, 0)
+                .add(2147483000, 1)
+                .build();
+        Path csv = dir.resolve("trace.csv");
+        TraceFile.writeCsv(workload, csv);
+        assertSameColumns(workload, TraceFile.readCsv(csv), "CSV");
+        Path binary = dir.resolve("trace.bin");
+        TraceFile.writeBinary(workload, binary);
+        assertSameColumns(workload, TraceFile.read(binary), "binary");
+    }
+
+    // Time only moves forward in the engines, so negative times are rejected where a trace is read
+    @Test
+    void negativeTimesAreRejected() throws IOException {
+        Path csv = dir.resolve("negative.csv");
+        Files.writeString(csv, "arrival,burst\n-5,3\n");
+        IOException error = assertThrows(IOException.class, () -> TraceFile.readCsv(csv));
+        assertTrue(error.getMessage().endsWith(":2: negative arrival time -5"), error.getMessage());
+        Files.writeString(csv, "0,2\n1,-2\n");
+        error = assertThrows(IOException.class, () -> TraceFile.readCsv(csv));
+        assertTrue(error.getMessage().endsWith(":2: negative burst time -2"), error.getMessage());
+        error = assertThrows(IOException.class, () -> TraceFile.stream(
+                new ByteArrayInputStream("3,4\n-1,0\n".getBytes(StandardCharsets.US_ASCII)), "stream", (a, b) -> { }));
+        assertTrue(error.getMessage().endsWith("stream:2: negative arrival time -1"), error.getMessage());
+
+        // A binary trace written by something else: header, arrivals {0, 0}, bursts {5, -10}
+        ByteBuffer bytes = ByteBuffer.allocate(TraceFile.HEADER_BYTES + 16).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(TraceFile.MAGIC).putInt(TraceFile.VERSION).putLong(2).putInt(0).putInt(0).putInt(5).putInt(-10);
+        Path binary = dir.resolve("negative.bin");
+        Files.write(binary, bytes.array());
+        error = assertThrows(IOException.class, () -> TraceFile.read(binary));
+        assertTrue(error.getMessage().contains("Burst time of process 2 must not be negative"), error.getMessage());
+    }
+
+    // Every chunk size from the longest line up cuts some record in two, and the chunk that ends the
+    // file may or may not end with a newline
+    @Test
+    void recordsSpanningChunkBoundaries() throws IOException {
+        Random random = new Random(13);
+        Workload.Builder builder = new Workload.Builder();
+        for (int i = 0; i < 400; i++) {
+            builder.add(random.nextInt(1_000_000), random.nextInt(100_000));
+        }
+        Workload workload = builder.build();
+        Path csv = dir.resolve("trace.csv");
+        TraceFile.writeCsv(workload, csv);
+        byte[] bytes = Files.readAllBytes(csv);
+        Path unterminated = dir.resolve("unterminated.csv");
+        Files.write(unterminated, Arrays.copyOf(bytes, bytes.length - 1));
+        for (int chunk = 16; chunk <= 64; chunk++) {
+            assertSameColumns(workload, TraceFile.readCsv(csv, chunk), "chunk " + chunk);
+            assertSameColumns(workload, TraceFile.readCsv(unterminated, chunk), "unterminated, chunk " + chunk);
+        }
+    }
+
+    @Test
+    void chunkShorterThanALineIsAnError() throws IOException {
+        Path csv = dir.resolve("trace.csv");
+        Files.writeString(csv, "1,2\n100000,200000\n");
+        IOException error = assertThrows(IOException.class, () -> TraceFile.readCsv(csv, 8));
+        assertTrue(error.getMessage().endsWith(":2: line too long"), error.getMessage());
+    }
+
+    // Reads of a few bytes at a time split numbers, commas and line ends
+    @Test
+    void streamHandlesRecordsSplitAcrossReads() throws IOException {
+        String text = "arrival,burst\r\n# comment\n\n 3 , 4\r\n0,0\n12,\t7\n8,9";
+        Random random = new Random(14);
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        InputStream trickle = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1 + random.nextInt(4)));
+            }
+        };
+        List<String> records = new ArrayList<>();
+        TraceFile.stream(trickle, "trickle", (arrival, burst) -> records.add(arrival + "," + burst));
+        assertEquals(List.of("3,4", "0,0", "12,7", "8,9"), records);
+    }
+
+    @Test
+    void malformedLinesReportTheirLine() throws IOException {
+        String[][] cases = {
+                {"1,2\nx,3\n", ":2: expected arrival,burst"},
+                {"1,2\n3 4\n", ":2: expected ',' after the arrival time"},
+                {"1,2,3\n", ":1: unexpected text after the burst time"},
+                {"1,\n", ":1: expected a number"},
+                {"1,-\n", ":1: expected a number"},
+                {"1,2\n-,3\n", ":2: expected arrival,burst"},
+                {"99999999999,1\n", ":1: number too large"},
+        };
+        Path csv = dir.resolve("bad.csv");
+        for (String[] c : cases) {
+            Files.writeString(csv, c[0]);
+            IOException error = assertThrows(IOException.class, () -> TraceFile.readCsv(csv), c[0]);
+            assertTrue(error.getMessage().endsWith(c[1]), c[0] + " gave " + error.getMessage());
+        }
+    }
+
+    private static void assertSameColumns(Workload expected, Workload actual, String what) {
+        assertEquals(expected.size(), actual.size(), what + ": size");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.arrivalTime(i), actual.arrivalTime(i), what + ": arrival of process " + i);
+            assertEquals(expected.burstTime(i), actual.burstTime(i), what + ": burst of process " + i);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// The blocks' random streams are split off the seed in block order, so the thread count must not
+// change the workload
+class WorkloadGeneratorTest {
+    private static final int PROCESSES = 3 * WorkloadGenerator.BLOCK_SIZE + 123; // a partial last block
+
+    @Test
+    void sameWorkloadOnOneThreadAndMany() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(8);
+        try {
+            for (WorkloadGenerator.Arrivals arrivals : WorkloadGenerator.Arrivals.values()) {
+                for (WorkloadGenerator.Bursts bursts : WorkloadGenerator.Bursts.values()) {
+                    WorkloadGenerator generator = new WorkloadGenerator(42, arrivals, 3.0, bursts, 5.0, 20);
+                    Workload sequential = generator.generate(PROCESSES, one);
+                    Workload parallel = generator.generate(PROCESSES, many);
+                    assertEquals(PROCESSES, parallel.size());
+                    assertEquals(sequential.fingerprint(), parallel.fingerprint(), generator.description());
+                }
+            }
+        } finally {
+            one.shutdown();
+            many.shutdown();
+        }
+    }
+
+    @Test
+    void seedChangesTheWorkload() {
+        WorkloadGenerator first = new WorkloadGenerator(1, WorkloadGenerator.Arrivals.POISSON, 3.0,
+                WorkloadGenerator.Bursts.EXPONENTIAL, 5.0, 0);
+        WorkloadGenerator second = new WorkloadGenerator(2, WorkloadGenerator.Arrivals.POISSON, 3.0,
+                WorkloadGenerator.Bursts.EXPONENTIAL, 5.0, 0);
+        assertNotEquals(first.generate(PROCESSES).fingerprint(), second.generate(PROCESSES).fingerprint());
+    }
+}
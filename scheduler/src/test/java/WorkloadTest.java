@@ -0,0 +1,31 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadTest {
+    // A negative burst must not offset the others in the clock check: bursts of 2e9 and 2e9 overflow
+    // the int clock after the second process, whatever comes after them
+    @Test
+    void negativeBurstCannotHideAnOverflow() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> Workload.adopt(new int[]{0, 0, 0}, new int[]{2_000_000_000, 2_000_000_000, -2_000_000_000}));
+        assertTrue(error.getMessage().contains("Burst time of process 3 must not be negative"), error.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> Workload.adopt(new int[]{0, 0}, new int[]{2_000_000_000, 2_000_000_000}));
+    }
+
+    @Test
+    void negativeTimesAreRejectedEverywhere() {
+        assertThrows(IllegalArgumentException.class, () -> Workload.adopt(new int[]{0, -1}, new int[]{1, 1}));
+        assertThrows(IllegalArgumentException.class, () -> new Workload(null, new int[]{0}, new int[]{-1}));
+        assertThrows(IllegalArgumentException.class, () -> new Workload.Builder().add(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Workload.Builder().add("P1", 0, -1, 0));
+        Workload workload = new Workload.Builder().add(0, 5).build();
+        assertThrows(IllegalArgumentException.class, () -> workload.append("P2", -3, 1));
+        assertThrows(IllegalArgumentException.class, () -> workload.append("P2", 3, -1));
+        assertEquals(1, workload.size());
+        assertEquals(2, workload.append("P2", 3, 0).size());
+    }
+}
@@ -0,0 +1,293 @@
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Non-interactive run of every trace in a directory through a list of policies, for nightly
+// regression runs. Each trace is loaded on its own virtual thread (a bounded platform pool before
+// Java 21) and each (trace, policy) job then schedules under a permit, one per core, so loading
+// overlaps with scheduling but never more runs than cores compete for the CPU. At most two traces
+// per core are held in memory at once.
+//
+// Rows stream out as jobs finish, through a buffered writer, but always in trace-then-policy
+// order, so two summaries of the same input diff cleanly. A trace that fails gives rows with the
+// error instead of figures.
+public final class BatchRunner {
+    private static final String[] COLUMNS = {"trace", "policy", "processes", "makespan", "avg_waiting",
+            "p99_waiting", "avg_turnaround", "p99_turnaround", "avg_response", "p99_response", "cpu_utilization",
+            "throughput", "context_switches", "schedule_ms", "error"};
+
+    public enum Format { CSV, JSON }
+
+    private final List<Path> traces;
+    private final List<SchedulingPolicy> policies;
+    private final Format format;
+    private final int cores;
+
+    private final Object outputLock = new Object();
+    private Writer out;           // guarded by outputLock
+    private String[] rows;        // guarded by outputLock: finished rows not yet written
+    private int nextRow;          // guarded by outputLock
+    private IOException writeError; // guarded by outputLock: the first failed write; nothing is written after it
+    private final AtomicInteger failures = new AtomicInteger();
+    private CountDownLatch unfinished; // rows not finished yet
+
+    public BatchRunner(List<Path> traces, List<SchedulingPolicy> policies, Format format, int cores) {
+        if (policies.isEmpty()) {
+            throw new IllegalArgumentException("No policies to run");
+        }
+        if (cores < 1) {
+            throw new IllegalArgumentException("Core count must be at least 1, got " + cores);
+        }
+        this.traces = traces;
+        this.policies = policies;
+        this.format = format;
+        this.cores = cores;
+    }
+
+    // Regular files of a directory, by name; 'exclude' (e.g. the summary being written) is skipped
+    public static List<Path> tracesIn(Path directory, Path exclude) throws IOException {
+        List<Path> traces = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isRegularFile)
+                    .filter(p -> exclude == null || !p.toAbsolutePath().normalize().equals(exclude.toAbsolutePath().normalize()))
+                    .filter(p -> !p.getFileName().toString().startsWith("."))
+                    .sorted()
+                    .forEach(traces::add);
+        }
+        return traces;
+    }
+
+    // Runs every job and writes the summary to 'output', which it does not close. Returns how many
+    // rows are errors.
+    public int run(Writer output) throws IOException, InterruptedException {
+        int jobsPerTrace = policies.size();
+        rows = new String[traces.size() * jobsPerTrace];
+        unfinished = new CountDownLatch(rows.length);
+        out = output;
+        writeHeader();
+
+        Semaphore cpuPermits = new Semaphore(cores);
+        Semaphore loadedTraces = new Semaphore(2 * cores);
+        ExecutorService executor = newThreadPerTaskExecutor(2 * cores);
+        try {
+            for (int t = 0; t < traces.size(); t++) {
+                loadedTraces.acquire(); // taken here, not on a pool thread, so a bounded pool cannot deadlock
+                int traceIndex = t;
+                executor.execute(() -> runTrace(traceIndex, executor, cpuPermits, loadedTraces));
+            }
+            unfinished.await(); // traces submit their jobs later, so the executor stays open until then
+        } finally {
+            executor.shutdownNow();
+        }
+        synchronized (outputLock) {
+            if (writeError != null) {
+                throw writeError;
+            }
+            writeFooter();
+            out.flush();
+        }
+        return failures.get();
+    }
+
+    private void runTrace(int traceIndex, ExecutorService executor, Semaphore cpuPermits, Semaphore loadedTraces) {
+        Path trace = traces.get(traceIndex);
+        Workload workload;
+        try {
+            workload = TraceFile.read(trace);
+            workload.arrivalOrder(); // sort once, not once per policy
+        } catch (IOException | RuntimeException | Error e) {
+            for (int p = 0; p < policies.size(); p++) {
+                failures.incrementAndGet();
+                finish(traceIndex * policies.size() + p, errorRow(trace, policies.get(p), e));
+            }
+            loadedTraces.release();
+            return;
+        }
+        AtomicInteger remaining = new AtomicInteger(policies.size());
+        for (int p = 0; p < policies.size(); p++) {
+            SchedulingPolicy policy = policies.get(p);
+            int rowIndex = traceIndex * policies.size() + p;
+            executor.execute(() -> {
+                String line;
+                try {
+                    cpuPermits.acquire();
+                    try {
+                        long start = System.nanoTime();
+                        ScheduleResult result = policy.schedule(workload);
+                        long scheduled = System.nanoTime();
+                        line = row(trace, policy, ScheduleMetrics.of(policy, result), (scheduled - start) / 1e6);
+                    } finally {
+                        cpuPermits.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures.incrementAndGet();
+                    line = errorRow(trace, policy, e);
+                } catch (RuntimeException | Error e) {
+                    failures.incrementAndGet();
+                    line = errorRow(trace, policy, e);
+                }
+                finish(rowIndex, line);
+                if (remaining.decrementAndGet() == 0) {
+                    loadedTraces.release(); // the last job lets go of the workload
+                }
+            });
+        }
+    }
+
+    // Stores a finished row and writes out every row now complete in order
+    private void finish(int row, String line) {
+        synchronized (outputLock) {
+            rows[row] = line;
+            try {
+                if (writeError != null) {
+                    return;
+                }
+                while (nextRow < rows.length && rows[nextRow] != null) {
+                    if (format == Format.JSON && nextRow > 0) {
+                        out.write(",\n");
+                    }
+                    out.write(rows[nextRow]);
+                    if (format == Format.CSV) {
+                        out.write('\n');
+                    }
+                    rows[nextRow++] = null;
+                }
+            } catch (IOException e) {
+                writeError = e; // reported by run() once the jobs are done
+            } finally {
+                unfinished.countDown(); // after the write, so run() cannot put the footer before it
+            }
+        }
+    }
+
+    private String row(Path trace, SchedulingPolicy policy, ScheduleMetrics m, double millis) {
+        Object[] values = {trace.getFileName().toString(), policy.description(), m.processes(), m.makespan(),
+                m.averageWaitingTime(), m.waitingTime().p99(), m.averageTurnaroundTime(), m.turnaroundTime().p99(),
+                m.averageResponseTime(), m.responseTime().p99(), m.cpuUtilization(), m.throughput(),
+                m.contextSwitches(), millis, ""};
+        return format(values);
+    }
+
+    private String errorRow(Path trace, SchedulingPolicy policy, Throwable error) {
+        Object[] values = new Object[COLUMNS.length];
+        values[0] = trace.getFileName().toString();
+        values[1] = policy.description();
+        for (int i = 2; i < values.length - 1; i++) {
+            values[i] = "";
+        }
+        values[values.length - 1] = String.valueOf(error.getMessage() != null ? error.getMessage() : error);
+        return format(values);
+    }
+
+    private String format(Object[] values) {
+        StringBuilder line = new StringBuilder(format == Format.JSON ? "  {" : "");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(format == Format.JSON ? ", " : ",");
+            }
+            if (format == Format.JSON) {
+                line.append('"').append(COLUMNS[i]).append("\": ");
+            }
+            Object v = values[i];
+            if (v instanceof Double) {
+                line.append(String.format(Locale.ROOT, "%.4f", (Double) v));
+            } else if (v instanceof String) {
+                boolean empty = ((String) v).isEmpty();
+                if (format == Format.JSON) {
+                    line.append(empty && i > 1 && i < values.length - 1 ? "null" : jsonString((String) v));
+                } else {
+                    line.append(csvField((String) v));
+                }
+            } else {
+                line.append(v);
+            }
+        }
+        return format == Format.JSON ? line.append('}').toString() : line.toString();
+    }
+
+    private void writeHeader() throws IOException {
+        synchronized (outputLock) {
+            out.write(format == Format.JSON ? "[\n" : String.join(",", COLUMNS) + "\n");
+        }
+    }
+
+    private void writeFooter() throws IOException {
+        if (format == Format.JSON) {
+            out.write(rows.length == 0 ? "]\n" : "\n]\n");
+        }
+    }
+
+    private static String csvField(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String s) {
+        StringBuilder json = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    // A virtual thread per task where the JDK has them (21+), looked up reflectively so the code
+    // still builds for 17; otherwise a fixed pool of daemon threads
+    static ExecutorService newThreadPerTaskExecutor(int fallbackThreads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(fallbackThreads, r -> {
+                Thread t = new Thread(r, "scheduler-batch");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // Buffered UTF-8 writer for a summary file, or for standard output when path is "-". Closing
+    // the writer for standard output only flushes it: the process may still print afterwards.
+    static Writer open(String path) throws IOException {
+        if (path.equals("-")) {
+            OutputStream stdout = new FilterOutputStream(System.out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+            return new BufferedWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8), 1 << 16);
+        }
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Path.of(path)), StandardCharsets.UTF_8), 1 << 16);
+    }
+}
@@ -0,0 +1,207 @@
+import java.util.Arrays;
+
+// Completely Fair Scheduler in the style of Linux CFS. Every runnable process accumulates virtual
+// runtime, its CPU time scaled down by its weight (from its nice value), and the one with the least
+// vruntime runs next. The scheduling period is the target latency, stretched to give each runnable
+// process at least the minimum granularity, and is split between them in proportion to weight.
+//
+// Newcomers start at the queue's minimum vruntime, so they neither starve the others nor get
+// starved. There is no wakeup preemption: an arrival waits for the current slice to end.
+public final class CfsPolicy implements SchedulingPolicy {
+    public static final int DEFAULT_TARGET_LATENCY = 6;
+    public static final int DEFAULT_MIN_GRANULARITY = 1;
+
+    // Linux's sched_prio_to_weight: nice 0 is 1024 and each step is roughly 10% of CPU share
+    private static final int[] NICE_TO_WEIGHT = {
+            88761, 71755, 56483, 46273, 36291,
+            29154, 23254, 18705, 14949, 11916,
+            9548, 7620, 6100, 4904, 3906,
+            3121, 2501, 1991, 1586, 1277,
+            1024, 820, 655, 526, 423,
+            335, 272, 215, 172, 137,
+            110, 87, 70, 56, 45,
+            36, 29, 23, 18, 15,
+    };
+    private static final int VRUNTIME_SHIFT = 20; // fixed-point vruntime, so heavy weights still advance
+
+    private final int targetLatency;
+    private final int minGranularity;
+
+    public CfsPolicy() {
+        this(DEFAULT_TARGET_LATENCY, DEFAULT_MIN_GRANULARITY);
+    }
+
+    public CfsPolicy(int targetLatency, int minGranularity) {
+        if (minGranularity < 1) {
+            throw new IllegalArgumentException("Minimum granularity must be at least 1, got " + minGranularity);
+        }
+        if (targetLatency < minGranularity) {
+            throw new IllegalArgumentException("Target latency must be at least the minimum granularity, got "
+                    + targetLatency + " < " + minGranularity);
+        }
+        this.targetLatency = targetLatency;
+        this.minGranularity = minGranularity;
+    }
+
+    public int targetLatency() {
+        return targetLatency;
+    }
+
+    public int minGranularity() {
+        return minGranularity;
+    }
+
+    static int weightOf(int nice) {
+        return NICE_TO_WEIGHT[nice + 20];
+    }
+
+    @Override
+    public String name() {
+        return "CFS";
+    }
+
+    @Override
+    public String description() {
+        return name() + " (latency=" + targetLatency + ", granularity=" + minGranularity + ")";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload workload) {
+        return new Run(this, workload).run();
+    }
+
+    private static final class Run extends SimulationRun {
+        private final int targetLatency;
+        private final int minGranularity;
+        private final int[] remainingTimes;
+        private final long[] vruntimes;
+        private final VruntimeQueue runQueue;
+        private long minVruntime;  // never decreases; where newcomers are placed
+        private long totalWeight;  // of every runnable process, the one on the CPU included
+
+        Run(CfsPolicy policy, Workload workload) {
+            super(policy, workload, false); // vruntimes do not fit a Checkpoint, so CFS never resumes
+            targetLatency = policy.targetLatency;
+            minGranularity = policy.minGranularity;
+            remainingTimes = initialRemainingTimes();
+            vruntimes = new long[n];
+            runQueue = new VruntimeQueue(64);
+        }
+
+        @Override
+        void step() {
+            // Admit everything that has arrived by now
+            while (nextArrival < n && workload.arrivalTime(arrivalOrder[nextArrival]) <= currentTime) {
+                int arrived = arrivalOrder[nextArrival++];
+                vruntimes[arrived] = minVruntime;
+                totalWeight += weightOf(workload.nice(arrived));
+                runQueue.add(arrived);
+            }
+
+            if (runQueue.isEmpty()) {
+                // CPU is Idle: jump straight to the next arrival
+                currentTime = workload.arrivalTime(arrivalOrder[nextArrival]);
+                return;
+            }
+
+            int idx = runQueue.poll();
+            int weight = weightOf(workload.nice(idx));
+
+            // This process's share of the period, at least the minimum granularity
+            long runnable = runQueue.size() + 1;
+            long period = Math.max(targetLatency, runnable * minGranularity);
+            long share = Math.max(period * weight / totalWeight, minGranularity);
+            int slice = (int) Math.min(share, Math.max(remainingTimes[idx], 0));
+
+            timeline.append(idx, currentTime, currentTime + slice);
+            currentTime += slice;
+            remainingTimes[idx] -= slice;
+            vruntimes[idx] += ((long) slice << VRUNTIME_SHIFT) / weight;
+
+            if (remainingTimes[idx] <= 0) {
+                // Zero-burst processes end up here without ever holding the CPU
+                remainingTimes[idx] = 0;
+                completionTimes[idx] = currentTime;
+                completed++;
+                totalWeight -= weight;
+            } else {
+                runQueue.add(idx);
+            }
+            if (!runQueue.isEmpty()) {
+                minVruntime = Math.max(minVruntime, vruntimes[runQueue.peek()]);
+            }
+        }
+
+        @Override
+        long[] snapshotReadyQueue() {
+            throw new UnsupportedOperationException("CFS runs take no checkpoints");
+        }
+
+        // Binary min-heap of process indices on (vruntime, index): the leftmost node of the CFS
+        // red-black tree is the top, and enqueue and pick-next are O(log n)
+        private final class VruntimeQueue {
+            private int[] items;
+            private int size;
+
+            VruntimeQueue(int capacity) {
+                items = new int[capacity];
+            }
+
+            void add(int idx) {
+                if (size == items.length) {
+                    items = Arrays.copyOf(items, size * 2);
+                }
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!less(idx, items[parent])) {
+                        break;
+                    }
+                    items[i] = items[parent];
+                    i = parent;
+                }
+                items[i] = idx;
+            }
+
+            int poll() {
+                int top = items[0];
+                int last = items[--size];
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && less(items[child + 1], items[child])) {
+                        child++;
+                    }
+                    if (!less(items[child], last)) {
+                        break;
+                    }
+                    items[i] = items[child];
+                    i = child;
+                }
+                items[i] = last;
+                return top;
+            }
+
+            int peek() {
+                return items[0];
+            }
+
+            int size() {
+                return size;
+            }
+
+            boolean isEmpty() {
+                return size == 0;
+            }
+
+            private boolean less(int a, int b) {
+                long va = vruntimes[a];
+                long vb = vruntimes[b];
+                return va != vb ? va < vb : a < b;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+// Scheduler state at the top of a policy's event loop, before the arrivals due at 'time' are
+// admitted. Processes not yet admitted still have their full burst and completed ones keep their
+// completion time in the result, so the ready queue is the only part that has to be copied.
+final class Checkpoint {
+    final int time;
+    final int validFrom;      // still valid if every process added later arrives at or after this
+    final int nextArrival;    // arrival-order cursor: how many processes have been admitted
+    final int completed;
+    final int slices;         // timeline length ...
+    final int lastSliceEnd;   // ... and where its last slice ended at this point
+    final long steps;
+    final long[] readyQueue;  // policy-specific encoding, see the policy's snapshot/restore (or PlaybackIndex)
+
+    Checkpoint(int time, int validFrom, int nextArrival, int completed, int slices, int lastSliceEnd,
+               long steps, long[] readyQueue) {
+        this.time = time;
+        this.validFrom = validFrom;
+        this.nextArrival = nextArrival;
+        this.completed = completed;
+        this.slices = slices;
+        this.lastSliceEnd = lastSliceEnd;
+        this.steps = steps;
+        this.readyQueue = readyQueue;
+    }
+}
@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Sparse, periodic checkpoints of one policy run. When the log fills up (too many checkpoints,
+// or their ready queues add up to more than a couple of workload columns) every other one is
+// dropped and the interval doubles, so memory stays bounded however long the run is.
+final class CheckpointLog {
+    private static final int MAX_CHECKPOINTS = 64;
+    private static final long FIRST_INTERVAL = 256;
+
+    private final String owner; // SchedulingPolicy.description() of the policy that wrote it
+    private final long queueBudget;
+    private final List<Checkpoint> checkpoints;
+    private long interval;
+    private long nextDue;
+    private long queuedEntries;
+
+    CheckpointLog(String owner, int workloadSize) {
+        this(owner, 2L * workloadSize + 4096, new ArrayList<>(), FIRST_INTERVAL, 0);
+    }
+
+    private CheckpointLog(String owner, long queueBudget, List<Checkpoint> checkpoints, long interval, long nextDue) {
+        this.owner = owner;
+        this.queueBudget = queueBudget;
+        this.checkpoints = checkpoints;
+        this.interval = interval;
+        this.nextDue = nextDue;
+        for (Checkpoint c : checkpoints) {
+            queuedEntries += c.readyQueue.length;
+        }
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    boolean due(long steps) {
+        return steps >= nextDue;
+    }
+
+    void add(Checkpoint checkpoint) {
+        checkpoints.add(checkpoint);
+        queuedEntries += checkpoint.readyQueue.length;
+        nextDue = checkpoint.steps + interval;
+        if (checkpoints.size() > MAX_CHECKPOINTS || (queuedEntries > queueBudget && checkpoints.size() > 2)) {
+            thin();
+        }
+    }
+
+    // Keeps the first, the last and every other one in between
+    private void thin() {
+        List<Checkpoint> kept = new ArrayList<>();
+        queuedEntries = 0;
+        for (int i = 0; i < checkpoints.size(); i++) {
+            if (i % 2 == 0 || i == checkpoints.size() - 1) {
+                kept.add(checkpoints.get(i));
+                queuedEntries += checkpoints.get(i).readyQueue.length;
+            }
+        }
+        checkpoints.clear();
+        checkpoints.addAll(kept);
+        interval *= 2;
+        nextDue = checkpoints.get(checkpoints.size() - 1).steps + interval;
+    }
+
+    // Latest checkpoint still valid when the new processes arrive no earlier than 'arrival', or null
+    Checkpoint latestValidFor(int arrival) {
+        int lo = 0;
+        int hi = checkpoints.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (checkpoints.get(mid).validFrom <= arrival) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo == 0 ? null : checkpoints.get(lo - 1);
+    }
+
+    // Latest checkpoint taken at or before 'time', or null
+    Checkpoint latestAtOrBefore(int time) {
+        int lo = 0;
+        int hi = checkpoints.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (checkpoints.get(mid).time <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo == 0 ? null : checkpoints.get(lo - 1);
+    }
+
+    // A log for a run resuming from 'from': everything up to it, with the same spacing
+    CheckpointLog resumeFrom(Checkpoint from, int workloadSize) {
+        List<Checkpoint> prefix = new ArrayList<>();
+        for (Checkpoint c : checkpoints) {
+            prefix.add(c);
+            if (c == from) break;
+        }
+        return new CheckpointLog(owner, 2L * workloadSize + 4096, prefix, interval, from.steps + interval);
+    }
+}
@@ -0,0 +1,87 @@
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.List;
+
+// "Compare All" window: every policy run on the same processes, Gantt charts stacked one per
+// policy and their averages side by side. The runs happen in parallel on a background thread.
+public class ComparisonFrame extends JFrame {
+    private final JPanel chartsPanel;
+    private final DefaultTableModel metricsModel;
+    private final JLabel statusLabel;
+    private final SimulationRunner runner = new SimulationRunner();
+
+    public ComparisonFrame() {
+        setTitle("Compare Scheduling Algorithms");
+        setSize(900, 800);
+        setLayout(new BorderLayout());
+
+        // 1. Stacked Gantt Charts (Center)
+        chartsPanel = new JPanel(new GridLayout(0, 1));
+        add(new JScrollPane(chartsPanel), BorderLayout.CENTER);
+
+        // 2. Metrics Table (Bottom)
+        String[] columns = {"Algorithm", "Avg Waiting Time", "Avg Turnaround Time", "Avg Response Time", "Context Switches"};
+        metricsModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(metricsModel);
+        JScrollPane tableScroll = new JScrollPane(table);
+        tableScroll.setPreferredSize(new Dimension(900, 120));
+
+        statusLabel = new JLabel(" ", SwingConstants.CENTER);
+        JPanel bottom = new JPanel(new BorderLayout());
+        bottom.add(tableScroll, BorderLayout.CENTER);
+        bottom.add(statusLabel, BorderLayout.SOUTH);
+        add(bottom, BorderLayout.SOUTH);
+    }
+
+    // Re-runs the comparison for this workload; a comparison still running is cancelled
+    public void compare(Workload workload, int timeQuantum) {
+        List<SchedulingPolicy> policies = PolicyComparison.allPolicies(timeQuantum);
+        statusLabel.setText("Simulating " + policies.size() + " algorithms...");
+        long start = System.nanoTime();
+        runner.submit(() -> PolicyComparison.run(workload, policies, Row::new), rows -> {
+            showResults(rows);
+            statusLabel.setText(String.format("%d processes, all algorithms in %.1f ms",
+                    workload.size(), (System.nanoTime() - start) / 1e6));
+        }, error -> statusLabel.setText("Comparison failed: " + error));
+    }
+
+    // Only adds finished rows: the metrics were worked out with the schedules, off the EDT
+    private void showResults(List<Row> rows) {
+        chartsPanel.removeAll();
+        metricsModel.setRowCount(0);
+        for (Row row : rows) {
+            GanttPanel gantt = new GanttPanel();
+            gantt.setResult(row.result);
+            gantt.setPreferredSize(new Dimension(880, 150));
+            gantt.setBorder(BorderFactory.createTitledBorder(row.policy));
+            chartsPanel.add(gantt);
+            metricsModel.addRow(row.cells);
+        }
+        chartsPanel.revalidate();
+        chartsPanel.repaint();
+    }
+
+    // One policy's schedule and its table cells, built on the comparison's worker thread
+    private static final class Row {
+        final String policy;
+        final ScheduleResult result;
+        final Object[] cells;
+
+        Row(SchedulingPolicy policy, ScheduleResult result) {
+            ScheduleMetrics m = ScheduleMetrics.of(policy, result);
+            this.policy = policy.description();
+            this.result = result;
+            this.cells = new Object[]{m.policy(),
+                    String.format("%.2f", m.averageWaitingTime()),
+                    String.format("%.2f", m.averageTurnaroundTime()),
+                    String.format("%.2f", m.averageResponseTime()),
+                    m.contextSwitches()};
+        }
+    }
+}
@@ -0,0 +1,436 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Binary log of a finished schedule as the events a scheduler would see: each process's arrival,
+// every dispatch onto a CPU, every preemption and its completion. It holds everything needed to
+// show the schedule again, so a long run can be reopened without running the policy.
+//
+// Layout, little-endian: a 32 byte header (magic "PSEV", int version, int processes, int CPUs,
+// long event count, long trailer offset), then fixed 12 byte events (int time, int process,
+// short CPU or -1, byte type, one byte of padding) in time order, then a trailer with the policy
+// description and the optional PID and nice columns. Strings are an int byte length plus UTF-8.
+//
+// Logs are written through one buffer onto a FileChannel and read back through memory mappings,
+// so neither side has an object per event.
+public final class EventLog {
+    public static final byte ARRIVAL = 0;
+    public static final byte DISPATCH = 1;
+    public static final byte PREEMPT = 2;
+    public static final byte COMPLETE = 3;
+    private static final String[] TYPE_NAMES = {"arrival", "dispatch", "preempt", "complete"};
+
+    static final int MAGIC = 0x56455350; // "PSEV" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int EVENT_BYTES = 12;
+    private static final int EVENTS_PER_MAP = (1 << 30) / EVENT_BYTES; // a single mapping cannot exceed 2 GB
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final String policy;
+    private final int processes;
+    private final int cpus;
+    private final long events;
+    private final MappedByteBuffer[] chunks;
+    private final String[] pids;  // null when the processes had default names
+    private final byte[] nices;   // null when every process had nice 0
+
+    private EventLog(String policy, int processes, int cpus, long events, MappedByteBuffer[] chunks,
+                     String[] pids, byte[] nices) {
+        this.policy = policy;
+        this.processes = processes;
+        this.cpus = cpus;
+        this.events = events;
+        this.chunks = chunks;
+        this.pids = pids;
+        this.nices = nices;
+    }
+
+    // Logs every event of a schedule, merged in time order over all CPUs. At equal times slice
+    // ends come first, then arrivals and zero-burst completions, then dispatches.
+    public static void write(ScheduleResult result, String policy, Path path) throws IOException {
+        Workload workload = result.workload();
+        int n = workload.size();
+        int cpus = result.cpuCount();
+        try (Writer log = new Writer(path, workload, cpus)) {
+            // Sources, in the order they win ties: the slice ends of each CPU, arrivals,
+            // zero-burst completions, then the slice starts of each CPU
+            int arrivals = cpus;
+            int zeroBursts = cpus + 1;
+            int[] zeroBurstOrder = zeroBurstsByCompletion(result);
+            int[] ends = new int[cpus];
+            int[] starts = new int[cpus];
+            int nextArrival = 0;
+            int nextZeroBurst = 0;
+            int[] arrivalOrder = workload.arrivalOrder();
+            LongHeap next = new LongHeap(2 * cpus + 2);
+            for (int cpu = 0; cpu < cpus; cpu++) {
+                Timeline timeline = result.timeline(cpu);
+                if (!timeline.isEmpty()) {
+                    next.add(LongHeap.pack(timeline.endTime(0), cpu));
+                    next.add(LongHeap.pack(timeline.startTime(0), cpus + 2 + cpu));
+                }
+            }
+            if (n > 0) {
+                next.add(LongHeap.pack(workload.arrivalTime(arrivalOrder[0]), arrivals));
+            }
+            if (zeroBurstOrder.length > 0) {
+                next.add(LongHeap.pack(result.completionTime(zeroBurstOrder[0]), zeroBursts));
+            }
+            while (!next.isEmpty()) {
+                long top = next.poll();
+                int time = LongHeap.key(top);
+                int source = LongHeap.tie(top);
+                if (source < cpus) {
+                    Timeline timeline = result.timeline(source);
+                    int s = ends[source]++;
+                    int idx = timeline.processIndex(s);
+                    if (time == result.completionTime(idx)) {
+                        log.complete(time, idx, source);
+                    } else {
+                        log.preempt(time, idx, source);
+                    }
+                    if (s + 1 < timeline.size()) {
+                        next.add(LongHeap.pack(timeline.endTime(s + 1), source));
+                    }
+                } else if (source == arrivals) {
+                    log.arrival(time, arrivalOrder[nextArrival++]);
+                    if (nextArrival < n) {
+                        next.add(LongHeap.pack(workload.arrivalTime(arrivalOrder[nextArrival]), arrivals));
+                    }
+                } else if (source == zeroBursts) {
+                    log.complete(time, zeroBurstOrder[nextZeroBurst++], -1);
+                    if (nextZeroBurst < zeroBurstOrder.length) {
+                        next.add(LongHeap.pack(result.completionTime(zeroBurstOrder[nextZeroBurst]), zeroBursts));
+                    }
+                } else {
+                    int cpu = source - cpus - 2;
+                    Timeline timeline = result.timeline(cpu);
+                    int s = starts[cpu]++;
+                    log.dispatch(time, timeline.processIndex(s), cpu);
+                    if (s + 1 < timeline.size()) {
+                        next.add(LongHeap.pack(timeline.startTime(s + 1), source));
+                    }
+                }
+            }
+            log.finish(policy);
+        }
+    }
+
+    // Processes that never get a slice, by completion time
+    private static int[] zeroBurstsByCompletion(ScheduleResult result) {
+        Workload workload = result.workload();
+        long[] keys = new long[16];
+        int count = 0;
+        for (int i = 0; i < workload.size(); i++) {
+            if (workload.burstTime(i) == 0) {
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, count * 2);
+                }
+                keys[count++] = LongHeap.pack(result.completionTime(i), i);
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = LongHeap.tie(keys[i]);
+        }
+        return order;
+    }
+
+    // Maps a log for reading; the mappings stay valid after the file is closed
+    public static EventLog open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_BYTES, size))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.limit() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IOException(path + ": not an event log");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException(path + ": unsupported event log version " + header.getInt(4));
+            }
+            int processes = header.getInt(8);
+            int cpus = header.getInt(12);
+            long events = header.getLong(16);
+            long trailer = header.getLong(24);
+            if (processes < 0 || cpus < 1 || events < 0 || trailer != HEADER_BYTES + EVENT_BYTES * events
+                    || trailer > size || size - trailer > Integer.MAX_VALUE) {
+                throw new IOException(path + ": truncated or corrupt event log");
+            }
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((events + EVENTS_PER_MAP - 1) / EVENTS_PER_MAP)];
+            for (int c = 0; c < chunks.length; c++) {
+                long first = (long) c * EVENTS_PER_MAP;
+                long count = Math.min(EVENTS_PER_MAP, events - first);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + EVENT_BYTES * first,
+                        EVENT_BYTES * count);
+                chunks[c].order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            ByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, trailer, size - trailer)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            try {
+                String policy = getString(tail);
+                String[] pids = null;
+                if (tail.getInt() != 0) {
+                    pids = new String[processes];
+                    for (int i = 0; i < processes; i++) {
+                        pids[i] = getString(tail);
+                    }
+                }
+                byte[] nices = null;
+                if (tail.getInt() != 0) {
+                    nices = new byte[processes];
+                    tail.get(nices);
+                }
+                return new EventLog(policy, processes, cpus, events, chunks, pids, nices);
+            } catch (RuntimeException e) {
+                throw new IOException(path + ": corrupt event log trailer", e);
+            }
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // SchedulingPolicy.description() of the policy that produced the schedule
+    public String policy() {
+        return policy;
+    }
+
+    public int processes() {
+        return processes;
+    }
+
+    public int cpuCount() {
+        return cpus;
+    }
+
+    public long size() {
+        return events;
+    }
+
+    public int time(long event) {
+        return chunk(event).getInt(offset(event));
+    }
+
+    public int process(long event) {
+        return chunk(event).getInt(offset(event) + 4);
+    }
+
+    // CPU the event happened on, -1 for arrivals and zero-burst completions
+    public int cpu(long event) {
+        return chunk(event).getShort(offset(event) + 8);
+    }
+
+    public byte type(long event) {
+        return chunk(event).get(offset(event) + 10);
+    }
+
+    public String pid(int process) {
+        return pids != null ? pids[process] : "P" + (process + 1);
+    }
+
+    private MappedByteBuffer chunk(long event) {
+        return chunks[(int) (event / EVENTS_PER_MAP)];
+    }
+
+    private static int offset(long event) {
+        return (int) (event % EVENTS_PER_MAP) * EVENT_BYTES;
+    }
+
+    // Rebuilds the schedule in one pass over the events: arrivals give the workload, dispatch and
+    // preempt/complete pairs give the slices (and so the burst times), completions the rest
+    public ScheduleResult toResult() throws IOException {
+        int[] arrivalTimes = new int[processes];
+        int[] burstTimes = new int[processes];
+        int[] completionTimes = new int[processes];
+        Timeline[] timelines = new Timeline[cpus];
+        int[] running = new int[cpus];
+        int[] sliceStarts = new int[cpus];
+        Arrays.fill(running, -1);
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            timelines[cpu] = new Timeline((int) Math.min(events / (2L * cpus), Integer.MAX_VALUE - 8));
+        }
+        for (long e = 0; e < events; e++) {
+            int time = time(e);
+            int idx = process(e);
+            int cpu = cpu(e);
+            byte type = type(e);
+            if (idx < 0 || idx >= processes || cpu < -1 || cpu >= cpus || (cpu == -1 && type != ARRIVAL && type != COMPLETE)) {
+                throw new IOException("corrupt event " + e + " in the log");
+            }
+            switch (type) {
+                case ARRIVAL:
+                    arrivalTimes[idx] = time;
+                    break;
+                case DISPATCH:
+                    running[cpu] = idx;
+                    sliceStarts[cpu] = time;
+                    break;
+                case PREEMPT:
+                case COMPLETE:
+                    if (cpu >= 0) {
+                        if (running[cpu] != idx) {
+                            throw new IOException("event " + e + " ends a slice that was never dispatched");
+                        }
+                        timelines[cpu].append(idx, sliceStarts[cpu], time);
+                        burstTimes[idx] += time - sliceStarts[cpu];
+                        running[cpu] = -1;
+                    }
+                    if (type == COMPLETE) {
+                        completionTimes[idx] = time;
+                    }
+                    break;
+                default:
+                    throw new IOException("unknown event type " + type + " at event " + e);
+            }
+        }
+
+        Workload workload;
+        try {
+            if (pids == null && nices == null) {
+                workload = Workload.adopt(arrivalTimes, burstTimes);
+            } else {
+                Workload.Builder builder = new Workload.Builder(processes);
+                for (int i = 0; i < processes; i++) {
+                    builder.add(pids == null ? null : pids[i], arrivalTimes[i], burstTimes[i], nices == null ? 0 : nices[i]);
+                }
+                workload = builder.build();
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt log: " + e.getMessage());
+        }
+        return new ScheduleResult(workload, timelines, completionTimes, null);
+    }
+
+    // One "time,event,pid,cpu" line per event, with an empty CPU for events not on one
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("time,event,pid,cpu\n");
+            StringBuilder line = new StringBuilder(64);
+            for (long e = 0; e < events; e++) {
+                line.setLength(0);
+                line.append(time(e)).append(',').append(TYPE_NAMES[type(e)]).append(',').append(pid(process(e))).append(',');
+                int cpu = cpu(e);
+                if (cpu >= 0) {
+                    line.append(cpu);
+                }
+                line.append('\n');
+                out.append(line);
+            }
+        }
+    }
+
+    // Appends events to a new log through one direct buffer. Events must be handed over in time
+    // order; finish() writes the trailer and the header, which make the log readable.
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final Workload workload;
+        private final int cpus;
+        private long events;
+
+        public Writer(Path path, Workload workload, int cpus) throws IOException {
+            if (cpus < 1 || cpus > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("CPU count must be 1.." + Short.MAX_VALUE + ", got " + cpus);
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.workload = workload;
+            this.cpus = cpus;
+            buffer.position(HEADER_BYTES); // filled in by finish()
+        }
+
+        public void arrival(int time, int process) throws IOException {
+            event(time, process, -1, ARRIVAL);
+        }
+
+        public void dispatch(int time, int process, int cpu) throws IOException {
+            event(time, process, cpu, DISPATCH);
+        }
+
+        public void preempt(int time, int process, int cpu) throws IOException {
+            event(time, process, cpu, PREEMPT);
+        }
+
+        // cpu is -1 for a zero-burst process, which completes without being dispatched
+        public void complete(int time, int process, int cpu) throws IOException {
+            event(time, process, cpu, COMPLETE);
+        }
+
+        private void event(int time, int process, int cpu, byte type) throws IOException {
+            ensure(EVENT_BYTES);
+            buffer.putInt(time).putInt(process).putShort((short) cpu).put(type).put((byte) 0);
+            events++;
+        }
+
+        // Ends the log, recording 'policy' as the one that produced it. Without it the file stays
+        // unreadable: close() alone only releases the file.
+        public void finish(String policy) throws IOException {
+            int n = workload.size();
+            putString(policy);
+            ensure(4);
+            buffer.putInt(workload.hasPids() ? n : 0);
+            for (int i = 0; workload.hasPids() && i < n; i++) {
+                putString(workload.pid(i));
+            }
+            ensure(4);
+            buffer.putInt(workload.hasNices() ? n : 0);
+            for (int i = 0; workload.hasNices() && i < n; i++) {
+                ensure(1);
+                buffer.put((byte) workload.nice(i));
+            }
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(cpus).putLong(events)
+                    .putLong(HEADER_BYTES + EVENT_BYTES * events).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+
+        private void putString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            ensure(4);
+            buffer.putInt(bytes.length);
+            for (int done = 0; done < bytes.length; ) {
+                ensure(1);
+                int count = Math.min(buffer.remaining(), bytes.length - done);
+                buffer.put(bytes, done, count);
+                done += count;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+public final class FcfsPolicy implements SchedulingPolicy {
+    private static final long[] NO_QUEUE = new long[0];
+
+    @Override
+    public String name() {
+        return "FCFS";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload workload) {
+        return new Run(this, workload).run();
+    }
+
+    // A process arriving no earlier than everyone else is scheduled in O(1) from the final state
+    @Override
+    public ScheduleResult reschedule(ScheduleResult previous, Workload workload) {
+        Checkpoint from = previous.resumePoint(this, workload);
+        return from == null ? schedule(workload) : new Run(workload, previous, from).run();
+    }
+
+    // FCFS needs no ready queue: the arrival order is the run order
+    private static final class Run extends SimulationRun {
+        Run(SchedulingPolicy policy, Workload workload) {
+            super(policy, workload);
+        }
+
+        Run(Workload workload, ScheduleResult previous, Checkpoint from) {
+            super(workload, previous, from);
+        }
+
+        @Override
+        void step() {
+            int idx = arrivalOrder[nextArrival++];
+
+            // If the CPU is idle because the process hasn't arrived yet
+            if (currentTime < workload.arrivalTime(idx)) {
+                currentTime = workload.arrivalTime(idx);
+            }
+
+            // Non-preemptive: it runs from currentTime straight to completion
+            completionTimes[idx] = currentTime + workload.burstTime(idx);
+            timeline.append(idx, currentTime, completionTimes[idx]);
+
+            // Move the clock forward
+            currentTime = completionTimes[idx];
+            completed++;
+        }
+
+        // Only the processes run so far matter, and a newcomer queues behind all of them
+        // as long as it does not arrive before the last one
+        @Override
+        int validFrom() {
+            return nextArrival == 0 ? Integer.MIN_VALUE : workload.arrivalTime(arrivalOrder[nextArrival - 1]);
+        }
+
+        // Processes only leave the arrival order when they run, so the waiting ones are those
+        // after nextArrival that have arrived by now
+        @Override
+        int runnable() {
+            int lo = nextArrival;
+            int hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (workload.arrivalTime(arrivalOrder[mid]) <= currentTime) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo - nextArrival;
+        }
+
+        @Override
+        long[] snapshotReadyQueue() {
+            return NO_QUEUE;
+        }
+    }
+}
@@ -0,0 +1,489 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Gantt chart for one ScheduleResult, one lane per CPU. Mouse wheel zooms around the cursor,
+// dragging pans and a double-click fits the whole schedule again. Rendering only visits slices
+// inside the visible time window, and runs narrower than a pixel are collapsed into a single
+// "busy" column, so it costs O(visible pixels) no matter how many slices the timeline holds.
+//
+// The lanes are rendered into TILE_WIDTH wide images on a grid of absolute pixel columns
+// (time / timePerPixel) and kept until the schedule, the zoom or the lane layout changes. A
+// repaint after a pan or an unrelated refresh only copies tiles; just the axis, CPU names and
+// the playback marker are drawn live. Everything a tile draws is placed by its slice alone,
+// never by what else is on screen, so neighbouring tiles always join up.
+//
+// Resizing changes the scale in fit-to-width mode and the lane pitch with many CPUs. While the
+// window is being resized the cached tiles are stretched to the new size instead, and they are
+// rendered again at the new scale once it has not changed for SETTLE_MILLIS.
+public class GanttPanel extends JPanel {
+    private static final int MARGIN = 50;
+    private static final int BAR_Y = 50;
+    private static final int BAR_HEIGHT = 50;
+    private static final int MIN_LANE_HEIGHT = 6;
+    private static final int LANE_GAP = 4;
+    private static final double MIN_TIME_PER_PIXEL = 1.0 / 64; // at most 64 pixels per time unit
+    private static final Color BUSY_COLOR = new Color(110, 110, 170);
+    private static final int TILE_WIDTH = 256;
+    private static final int MAX_TILES = 48;   // least recently drawn tiles beyond this are dropped
+    private static final int EDGE_PAD = 32;    // columns left of a tile visited too, so runs across its edge match
+    private static final int PID_REPEAT = 4 * TILE_WIDTH; // pid spacing along slices wider than this
+    private static final int SETTLE_MILLIS = 200;
+    private static final Color[] PALETTE = new Color[255];
+
+    static {
+        // The chart has always coloured a process (c, c, 220) from its pid hash, so 255 colours cover it
+        for (int c = 0; c < PALETTE.length; c++) {
+            PALETTE[c] = new Color(c, c, 220);
+        }
+    }
+
+    private ScheduleResult result;
+    private short[] colorCodes;  // palette index per process, -1 until first drawn
+    private double viewStart;    // time at the left margin
+    private double timePerPixel; // 0 means "fit the whole schedule to the width"
+    private int marker = -1;     // playback time drawn as a line, -1 for none
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_TILES;
+        }
+    };
+    private double tileTimePerPixel; // what the cached tiles were rendered for
+    private int tilePitch;
+    private Font tileFont;
+    private boolean tilesFit;        // rendered in fit-to-width mode
+    private boolean resizing;        // resized within the last SETTLE_MILLIS
+    private final Timer settle = new Timer(SETTLE_MILLIS, e -> {
+        resizing = false;
+        repaint(); // now at the new scale
+    });
+    private int dragX;
+    private double dragViewStart;
+
+    public GanttPanel() {
+        setToolTipText(""); // enables getToolTipText(MouseEvent)
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+                dragViewStart = viewStart;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (timePerPixel > 0) {
+                    viewStart = dragViewStart - (e.getX() - dragX) * timePerPixel;
+                    clampView();
+                    repaint();
+                }
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    fitToWidth();
+                }
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(e.getX(), Math.pow(1.25, e.getPreciseWheelRotation()));
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+        settle.setRepeats(false);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                resizing = true;
+                settle.restart();
+            }
+        });
+    }
+
+    public void setResult(ScheduleResult result) {
+        this.result = result;
+        colorCodes = new short[result.workload().size()];
+        Arrays.fill(colorCodes, (short) -1);
+        tiles.clear();
+        fitToWidth();
+    }
+
+    public void fitToWidth() {
+        viewStart = 0;
+        timePerPixel = 0;
+        repaint();
+    }
+
+    // Draws a line at 'time' (-1 removes it), panning a zoomed-in view to keep it on screen
+    public void setMarker(int time) {
+        marker = time;
+        if (result != null && time >= 0 && timePerPixel > 0) {
+            double viewEnd = viewStart + chartWidth() * timePerPixel;
+            if (time < viewStart || time >= viewEnd) {
+                viewStart = time - chartWidth() / 2.0 * timePerPixel;
+                clampView();
+            }
+        }
+        repaint();
+    }
+
+    private int chartWidth() {
+        return Math.max(getWidth() - 2 * MARGIN, 1);
+    }
+
+    private double fitTimePerPixel() {
+        return Math.max((double) result.makespan() / chartWidth(), MIN_TIME_PER_PIXEL);
+    }
+
+    private double currentTimePerPixel() {
+        return timePerPixel > 0 ? timePerPixel : fitTimePerPixel();
+    }
+
+    // Zooms by factor (> 1 zooms out) keeping the time under mouseX in place
+    private void zoom(int mouseX, double factor) {
+        if (result == null || result.makespan() == 0) {
+            return;
+        }
+        double tpp = currentTimePerPixel();
+        double anchor = viewStart + (mouseX - MARGIN) * tpp;
+        double newTpp = Math.max(MIN_TIME_PER_PIXEL, Math.min(tpp * factor, fitTimePerPixel()));
+        if (newTpp >= fitTimePerPixel()) {
+            fitToWidth(); // fully zoomed out: follow the panel width again
+            return;
+        }
+        timePerPixel = newTpp;
+        viewStart = anchor - (mouseX - MARGIN) * newTpp;
+        clampView();
+        repaint();
+    }
+
+    private void clampView() {
+        double maxStart = result.makespan() - chartWidth() * currentTimePerPixel();
+        viewStart = Math.max(0, Math.min(viewStart, maxStart));
+    }
+
+    private Color colorOf(int processIndex) {
+        short code = colorCodes[processIndex];
+        if (code < 0) {
+            int h = result.workload().pid(processIndex).hashCode();
+            code = (short) (Math.abs(h * h) % 255);
+            colorCodes[processIndex] = code;
+        }
+        return PALETTE[code];
+    }
+
+    // Absolute pixel column of a time; the one at viewStart sits at the left margin
+    private static long columnOf(double time, double tpp) {
+        return (long) Math.floor(time / tpp);
+    }
+
+    // Tile-local x clamped just outside the tile, so far-off slices cannot overflow
+    private static int clampX(long x) {
+        return (int) Math.max(-2, Math.min(x, TILE_WIDTH + 2));
+    }
+
+    // Lanes share the height below BAR_Y, never taller than the single-CPU bar; when many CPUs
+    // do not fit, lanes shrink down to a pixel and lose their gap and text
+    private int lanePitch() {
+        int cpus = result.cpuCount();
+        if (cpus == 1) {
+            return BAR_HEIGHT + LANE_GAP;
+        }
+        int available = getHeight() - BAR_Y - 30;
+        return Math.max(1, Math.min(BAR_HEIGHT + LANE_GAP, available / cpus));
+    }
+
+    private int laneHeight(int pitch) {
+        return pitch >= MIN_LANE_HEIGHT + LANE_GAP ? pitch - LANE_GAP : Math.max(pitch - 1, 1);
+    }
+
+    // Preferred height that gives every lane the full bar height
+    public static int preferredHeight(int cpus) {
+        return BAR_Y + cpus * (BAR_HEIGHT + LANE_GAP) + 40;
+    }
+
+    private double timeAt(int x) {
+        double tpp = currentTimePerPixel();
+        return (columnOf(viewStart, tpp) + x - MARGIN) * tpp;
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        if (result == null || e.getY() < BAR_Y) {
+            return null;
+        }
+        int pitch = lanePitch();
+        int cpu = (e.getY() - BAR_Y) / pitch;
+        if (cpu >= result.cpuCount() || e.getY() > BAR_Y + cpu * pitch + laneHeight(pitch)) {
+            return null;
+        }
+        Timeline timeline = result.timeline(cpu);
+        int slice = timeline.sliceAt((int) Math.floor(timeAt(e.getX())));
+        if (slice == -1) {
+            return "Idle";
+        }
+        return (result.cpuCount() > 1 ? "CPU " + cpu + ": " : "") + result.workload().pid(timeline.processIndex(slice))
+                + " (" + timeline.startTime(slice) + " - " + timeline.endTime(slice) + ")";
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (result == null || result.makespan() == 0) {
+            return; // Nothing scheduled (e.g. after "Clear All")
+        }
+        int width = chartWidth();
+        double tpp = currentTimePerPixel();
+        int cpus = result.cpuCount();
+        SchedulerTelemetry.PaintEvent paint = SchedulerTelemetry.startPaint(cpus, width);
+        int pitch = lanePitch();
+        int laneHeight = laneHeight(pitch);
+        boolean stale = tpp != tileTimePerPixel || pitch != tilePitch || !getFont().equals(tileFont);
+        // Only a resize changes the scale of fit-mode tiles or the pitch at an unchanged zoom
+        boolean stretch = stale && resizing && !tiles.isEmpty() && getFont().equals(tileFont)
+                && (tpp == tileTimePerPixel || (timePerPixel == 0 && tilesFit));
+        if (stale && !stretch) {
+            tiles.clear();
+            tileTimePerPixel = tpp;
+            tilePitch = pitch;
+            tileFont = getFont();
+            tilesFit = timePerPixel == 0;
+        }
+        long origin = columnOf(viewStart, tpp);
+
+        // Bars are clipped to the chart area; time labels may spill into the right margin
+        Graphics g2 = g.create();
+        g2.clipRect(MARGIN, 0, width + 1, getHeight());
+        if (stretch) {
+            stretchTiles(g2, tpp, pitch, width + 1);
+        } else {
+            copyTiles(g2, origin, width + 1);
+        }
+        if (cpus == 1) {
+            paintTimeLabels(g, result.timeline(), origin, tpp, BAR_Y + BAR_HEIGHT + 20);
+        } else {
+            g.setColor(Color.BLACK);
+            for (int cpu = 0; cpu < cpus; cpu++) {
+                int y = BAR_Y + cpu * pitch;
+                if (laneHeight >= g.getFontMetrics().getAscent()) {
+                    g.drawString("CPU " + cpu, 4, y + (laneHeight + g.getFontMetrics().getAscent()) / 2);
+                }
+            }
+            paintAxis(g, BAR_Y + cpus * pitch + 12, tpp);
+        }
+        if (marker >= viewStart && marker <= viewStart + width * tpp) {
+            int x = (int) (MARGIN + columnOf(marker, tpp) - origin);
+            g2.setColor(Color.RED);
+            g2.drawLine(x, BAR_Y - 6, x, BAR_Y + (cpus == 1 ? BAR_HEIGHT : cpus * pitch) + 2);
+        }
+        g2.dispose();
+        SchedulerTelemetry.endPaint(paint);
+    }
+
+    // Copies the tiles covering 'width' columns from the left margin, rendering the ones not cached
+    private void copyTiles(Graphics g, long origin, int width) {
+        long first = Math.floorDiv(origin, TILE_WIDTH);
+        long last = Math.floorDiv(origin + width - 1, TILE_WIDTH);
+        for (long tile = first; tile <= last; tile++) {
+            BufferedImage image = tiles.get(tile);
+            if (image == null) {
+                image = renderTile(tile);
+                tiles.put(tile, image);
+            }
+            g.drawImage(image, (int) (MARGIN + tile * TILE_WIDTH - origin), BAR_Y, null);
+        }
+    }
+
+    // The cached tiles scaled from the scale and pitch they were rendered for to the current ones
+    private void stretchTiles(Graphics g, double tpp, int pitch, int width) {
+        double scale = tileTimePerPixel / tpp;
+        double left = viewStart / tileTimePerPixel; // tile column at the left margin
+        int cpus = result.cpuCount();
+        int height = (cpus == 1 ? BAR_HEIGHT : cpus * pitch) + 1;
+        long first = (long) Math.floor(left / TILE_WIDTH);
+        long last = (long) Math.floor((left + width / scale) / TILE_WIDTH);
+        for (long tile = first; tile <= last; tile++) {
+            BufferedImage image = tiles.get(tile);
+            if (image == null) {
+                image = renderTile(tile); // at the cached scale, like its neighbours
+                tiles.put(tile, image);
+            }
+            int x0 = MARGIN + (int) Math.round((tile * TILE_WIDTH - left) * scale);
+            int x1 = MARGIN + (int) Math.round(((tile + 1) * TILE_WIDTH - left) * scale);
+            g.drawImage(image, x0, BAR_Y, x1 - x0, height, null);
+        }
+    }
+
+    // Every lane's slices in one column range; y = 0 in the tile is BAR_Y on the panel
+    private BufferedImage renderTile(long tile) {
+        int cpus = result.cpuCount();
+        int pitch = tilePitch;
+        int height = (cpus == 1 ? BAR_HEIGHT : cpus * pitch) + 1;
+        BufferedImage image = new BufferedImage(TILE_WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(getBackground());
+        g.fillRect(0, 0, TILE_WIDTH, height);
+        g.setFont(getFont());
+        Object textHints = Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+        if (textHints instanceof Map) {
+            g.addRenderingHints((Map<?, ?>) textHints); // same text rendering as painting straight to the panel
+        }
+        long left = tile * TILE_WIDTH;
+        if (cpus == 1) {
+            renderLane(g, result.timeline(), left, 0, BAR_HEIGHT);
+        } else {
+            for (int cpu = 0; cpu < cpus; cpu++) {
+                renderLane(g, result.timeline(cpu), left, cpu * pitch, laneHeight(pitch));
+            }
+        }
+        g.dispose();
+        return image;
+    }
+
+    // One CPU's slices between y and y + height in the tile starting at column 'left'
+    private void renderLane(Graphics g, Timeline timeline, long left, int y, int height) {
+        double tpp = tileTimePerPixel;
+        FontMetrics fm = g.getFontMetrics();
+        int textY = y + height * 3 / 5;
+        boolean text = height >= fm.getAscent();
+
+        int i = timeline.firstSliceEndingAfter((int) Math.floor((left - EDGE_PAD) * tpp));
+        int prevEnd = i > 0 ? timeline.endTime(i - 1) : 0;
+
+        while (i < timeline.size()) {
+            int start = timeline.startTime(i);
+            int end = timeline.endTime(i);
+            long x0 = columnOf(start, tpp) - left;
+            long x1 = columnOf(end, tpp) - left;
+
+            // Handle Idle Time visually
+            if (start > prevEnd) {
+                long idleX = columnOf(prevEnd, tpp) - left;
+                if (x0 - idleX >= 2) {
+                    g.setColor(Color.LIGHT_GRAY);
+                    g.drawRect(clampX(idleX), y, clampX(x0) - clampX(idleX), height);
+                    if (text && x0 - idleX > fm.stringWidth("Idle") + 10) {
+                        drawText(g, fm, "Idle", idleX + 5, textY);
+                    }
+                }
+            }
+            if (x0 > TILE_WIDTH + 2) {
+                break;
+            }
+
+            if (x1 > x0) {
+                // Draw Process block
+                long w = x1 - x0;
+                g.setColor(colorOf(timeline.processIndex(i)));
+                g.fillRect(clampX(x0), y, clampX(x1) - clampX(x0), height);
+                g.setColor(Color.BLACK);
+                if (w >= 3) {
+                    g.drawRect(clampX(x0), y, clampX(x1) - clampX(x0), height);
+                }
+                if (w > 20) {
+                    String pid = result.workload().pid(timeline.processIndex(i));
+                    int pidWidth = fm.stringWidth(pid);
+                    if (text && pidWidth < w - 4) {
+                        // Repeated along very long slices, so zooming into one still shows whose it is
+                        long first = x0 + w / 4;
+                        long skip = Math.max(0, Math.floorDiv(-pidWidth - first, PID_REPEAT));
+                        for (long x = first + skip * PID_REPEAT; x < TILE_WIDTH && (x == first || x + pidWidth < x1); x += PID_REPEAT) {
+                            drawText(g, fm, pid, x, textY);
+                        }
+                    }
+                }
+                prevEnd = end;
+                i++;
+            } else {
+                // Sub-pixel run: everything that ends inside this pixel column becomes one busy bar
+                double columnEnd = (columnOf(start, tpp) + 1) * tpp;
+                int next = Math.max(timeline.firstSliceEndingAfter((int) Math.floor(columnEnd)), i + 1);
+                long barEnd = columnOf(timeline.endTime(next - 1), tpp) - left;
+                g.setColor(BUSY_COLOR);
+                g.fillRect(clampX(x0), y, Math.max(clampX(barEnd) - clampX(x0), 1), height);
+                prevEnd = timeline.endTime(next - 1);
+                i = next;
+            }
+        }
+    }
+
+    // Start/end times under the single-CPU bar. Which labels fit depends on the ones left of them
+    // on screen, so these are drawn live: they only go under slices over 20 pixels wide.
+    private void paintTimeLabels(Graphics g, Timeline timeline, long origin, double tpp, int labelY) {
+        int width = chartWidth();
+        FontMetrics fm = g.getFontMetrics();
+        g.setColor(Color.BLACK);
+        int lastLabelRight = Integer.MIN_VALUE;
+        int i = timeline.firstSliceEndingAfter((int) Math.floor(origin * tpp));
+        while (i < timeline.size() && columnOf(timeline.startTime(i), tpp) - origin < width) {
+            int start = timeline.startTime(i);
+            int end = timeline.endTime(i);
+            int x0 = screenX(columnOf(start, tpp) - origin);
+            int x1 = screenX(columnOf(end, tpp) - origin);
+            if (x1 > x0) {
+                if (x1 - x0 > 20) {
+                    String startLabel = String.valueOf(start);
+                    if (x0 >= MARGIN && x0 > lastLabelRight) {
+                        g.drawString(startLabel, x0, labelY);
+                        lastLabelRight = x0 + fm.stringWidth(startLabel) + 4;
+                    }
+                    String endLabel = String.valueOf(end);
+                    if (x1 <= MARGIN + width && x1 > lastLabelRight) {
+                        g.drawString(endLabel, x1, labelY);
+                        lastLabelRight = x1 + fm.stringWidth(endLabel) + 4;
+                    }
+                }
+                i++;
+            } else {
+                // Skip a sub-pixel run the same way the lanes collapse it
+                double columnEnd = (columnOf(start, tpp) + 1) * tpp;
+                i = Math.max(timeline.firstSliceEndingAfter((int) Math.floor(columnEnd)), i + 1);
+            }
+        }
+    }
+
+    // Panel x of a column relative to the left margin, clamped just outside the chart
+    private int screenX(long column) {
+        return (int) (MARGIN + Math.max(-2, Math.min(column, chartWidth() + 2)));
+    }
+
+    // Text at tile-local x in the current colour, skipped when it cannot reach the tile
+    private static void drawText(Graphics g, FontMetrics fm, String text, long x, int y) {
+        if (x < TILE_WIDTH && x + fm.stringWidth(text) > 0) {
+            g.drawString(text, (int) x, y);
+        }
+    }
+
+    // Time axis under the lanes, with a tick every 100 pixels or so rounded to 1, 2 or 5 x 10^k
+    private void paintAxis(Graphics g, int y, double tpp) {
+        int width = chartWidth();
+        double raw = 100 * tpp;
+        double step = Math.pow(10, Math.floor(Math.log10(raw)));
+        if (step * 5 <= raw) {
+            step *= 5;
+        } else if (step * 2 <= raw) {
+            step *= 2;
+        }
+        step = Math.max(step, 1);
+        g.setColor(Color.BLACK);
+        g.drawLine(MARGIN, y - 8, MARGIN + width, y - 8);
+        long origin = columnOf(viewStart, tpp);
+        for (double t = Math.ceil(viewStart / step) * step; t <= viewStart + width * tpp; t += step) {
+            int x = (int) (MARGIN + columnOf(t, tpp) - origin);
+            g.drawLine(x, y - 11, x, y - 5);
+            g.drawString(String.valueOf((long) t), x, y + 6);
+        }
+    }
+}
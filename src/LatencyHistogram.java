@@ -0,0 +1,81 @@
+// Fixed-size log-linear histogram of non-negative longs: exact below 64, otherwise 32 buckets per
+// power of two. A bucket is at most 1/32 of its lower bound wide and reports its middle, so
+// percentiles are within 1/64 (about 1.6%) of the true value whatever the range, in a few KB.
+// Count, mean and max are exact.
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS; // values below this get their own bucket
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private double sum;
+    private long max;
+
+    public void record(long value) {
+        long v = Math.max(value, 0);
+        counts[bucketOf(v)]++;
+        count++;
+        sum += v;
+        max = Math.max(max, v);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    // Smallest recorded value v such that at least fraction of all values are <= v (0 if empty),
+    // reported as the middle of its bucket and never above the exact max
+    public long percentile(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(middleOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int bucketOf(long v) {
+        if (v < LINEAR_LIMIT) {
+            return (int) v;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int top = (int) (v >>> shift); // SUB_BUCKETS..2*SUB_BUCKETS-1
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    private static long middleOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long top = SUB_BUCKETS + (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        return (top << shift) + (1L << shift) / 2;
+    }
+}
@@ -0,0 +1,186 @@
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+// Live view of a StreamingScheduler: processes come from a local Poisson generator (or a CSV
+// file) on a background thread, and the running metrics are refreshed a few times a second.
+// The stream never holds more than the processes currently in the system.
+public class LiveStreamFrame extends JFrame {
+    private static final long PUBLISH_NANOS = 200_000_000L;
+
+    private final SchedulingPolicy policy;
+    private final JLabel[] values;
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JButton startButton = new JButton("Start Generator");
+    private final JButton fileButton = new JButton("Stream File...");
+    private final JButton stopButton = new JButton("Stop");
+    private Thread worker;
+
+    private static final String[] ROWS = {"Time", "Arrived", "Completed", "In System",
+            "Waiting Time (mean / p50 / p90 / p99 / max)", "Turnaround Time (mean / p50 / p90 / p99 / max)",
+            "CPU Utilization", "Throughput (per time unit)"};
+
+    public LiveStreamFrame(SchedulingPolicy policy) {
+        this.policy = policy;
+        setTitle("Live Stream - " + policy.description());
+        setSize(700, 330);
+        setLayout(new BorderLayout());
+
+        // 1. Generator controls (Top)
+        JSpinner interArrival = new JSpinner(new SpinnerNumberModel(11.0, 0.1, 1_000_000.0, 1.0));
+        JSpinner meanBurst = new JSpinner(new SpinnerNumberModel(10.0, 1.0, 1_000_000.0, 1.0));
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Mean Inter-arrival:"));
+        controls.add(interArrival);
+        controls.add(new JLabel("Mean Burst:"));
+        controls.add(meanBurst);
+        controls.add(startButton);
+        controls.add(fileButton);
+        controls.add(stopButton);
+        add(controls, BorderLayout.NORTH);
+
+        // 2. Metrics (Center)
+        JPanel grid = new JPanel(new GridLayout(ROWS.length, 2, 10, 4));
+        grid.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        values = new JLabel[ROWS.length];
+        for (int i = 0; i < ROWS.length; i++) {
+            grid.add(new JLabel(ROWS[i]));
+            values[i] = new JLabel("-");
+            values[i].setFont(new Font("Monospaced", Font.BOLD, 13));
+            grid.add(values[i]);
+        }
+        add(grid, BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+
+        startButton.addActionListener(e -> {
+            double arrivalMean = (Double) interArrival.getValue();
+            double burstMean = (Double) meanBurst.getValue();
+            start(scheduler -> generate(scheduler, arrivalMean, burstMean), "Generating Poisson arrivals...");
+        });
+        fileButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+                Path path = chooser.getSelectedFile().toPath();
+                start(scheduler -> {
+                    try (InputStream in = Files.newInputStream(path)) {
+                        TraceFile.stream(in, path.toString(), new Publisher(scheduler)::offer);
+                    }
+                    scheduler.finish();
+                }, "Streaming " + path.getFileName() + "...");
+            }
+        });
+        stopButton.addActionListener(e -> stop());
+        stopButton.setEnabled(false);
+    }
+
+    @Override
+    public void dispose() {
+        stop();
+        super.dispose();
+    }
+
+    private interface Source {
+        void feed(StreamingScheduler scheduler) throws IOException;
+    }
+
+    private void start(Source source, String status) {
+        stop();
+        StreamingScheduler scheduler = StreamingScheduler.of(policy);
+        statusLabel.setText(status);
+        startButton.setEnabled(false);
+        fileButton.setEnabled(false);
+        stopButton.setEnabled(true);
+        worker = new Thread(() -> {
+            String end = "Finished";
+            try {
+                source.feed(scheduler);
+            } catch (StopException | ClosedByInterruptException stopped) {
+                end = "Stopped";
+            } catch (IOException | RuntimeException e) {
+                end = "Failed: " + e.getMessage();
+            }
+            StreamingStats last = scheduler.stats();
+            String finalStatus = end;
+            SwingUtilities.invokeLater(() -> {
+                show(last);
+                statusLabel.setText(finalStatus);
+                startButton.setEnabled(true);
+                fileButton.setEnabled(true);
+                stopButton.setEnabled(false);
+            });
+        }, "live-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    // Endless Poisson arrivals with exponential bursts, until stopped
+    private void generate(StreamingScheduler scheduler, double arrivalMean, double burstMean) {
+        SplittableRandom random = new SplittableRandom();
+        Publisher publisher = new Publisher(scheduler);
+        double clock = 0;
+        while (true) {
+            clock += -Math.log(1 - random.nextDouble()) * arrivalMean;
+            int burst = 1 + (int) (-Math.log(1 - random.nextDouble()) * (burstMean - 1));
+            publisher.offer((long) clock, burst);
+        }
+    }
+
+    // Offers records and pushes a snapshot to the EDT every PUBLISH_NANOS; ends the feed on stop
+    private final class Publisher {
+        private final StreamingScheduler scheduler;
+        private long lastPublish = System.nanoTime();
+        private int sinceCheck;
+
+        Publisher(StreamingScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        void offer(long arrivalTime, int burstTime) {
+            scheduler.offer(arrivalTime, burstTime);
+            if (++sinceCheck < 4096) {
+                return;
+            }
+            sinceCheck = 0;
+            if (Thread.currentThread().isInterrupted()) {
+                throw new StopException();
+            }
+            long now = System.nanoTime();
+            if (now - lastPublish >= PUBLISH_NANOS) {
+                lastPublish = now;
+                StreamingStats stats = scheduler.stats();
+                SwingUtilities.invokeLater(() -> show(stats));
+            }
+        }
+    }
+
+    private static final class StopException extends RuntimeException {
+        StopException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private void show(StreamingStats s) {
+        values[0].setText(String.valueOf(s.time));
+        values[1].setText(String.valueOf(s.arrived));
+        values[2].setText(String.valueOf(s.completed));
+        values[3].setText(String.valueOf(s.queued));
+        values[4].setText(String.format("%.2f / %d / %d / %d / %d", s.meanWaitingTime,
+                s.p50WaitingTime, s.p90WaitingTime, s.p99WaitingTime, s.maxWaitingTime));
+        values[5].setText(String.format("%.2f / %d / %d / %d / %d", s.meanTurnaroundTime,
+                s.p50TurnaroundTime, s.p90TurnaroundTime, s.p99TurnaroundTime, s.maxTurnaroundTime));
+        values[6].setText(String.format("%.1f%%", s.utilization * 100));
+        values[7].setText(String.format("%.4f", s.throughput));
+    }
+}
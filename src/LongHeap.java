@@ -0,0 +1,78 @@
+import java.util.Arrays;
+
+// Binary min-heap of primitive longs. Policies pack (key, tie-break) into one value with pack(),
+// so ready queues need neither boxing nor an object per process.
+final class LongHeap {
+    private long[] items;
+    private int size;
+
+    LongHeap(int capacity) {
+        items = new long[Math.max(capacity, 1)];
+    }
+
+    // Rebuilds a heap from toArray() output, which is already in heap order
+    LongHeap(long[] heapOrdered) {
+        items = Arrays.copyOf(heapOrdered, Math.max(heapOrdered.length * 2, 16));
+        size = heapOrdered.length;
+    }
+
+    // key in the high half, tie (a non-negative index) in the low half: orders by key, then tie
+    static long pack(int key, int tie) {
+        return ((long) key << 32) | (tie & 0xFFFFFFFFL);
+    }
+
+    static int key(long value) {
+        return (int) (value >> 32);
+    }
+
+    static int tie(long value) {
+        return (int) value;
+    }
+
+    void add(long value) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (items[parent] <= value) break;
+            items[i] = items[parent];
+            i = parent;
+        }
+        items[i] = value;
+    }
+
+    long poll() {
+        long top = items[0];
+        long last = items[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && items[child + 1] < items[child]) child++;
+            if (last <= items[child]) break;
+            items[i] = items[child];
+            i = child;
+        }
+        items[i] = last;
+        return top;
+    }
+
+    long peek() {
+        return items[0];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // The entries in internal (heap) order
+    long[] toArray() {
+        return Arrays.copyOf(items, size);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,593 @@
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Runs FCFS, SJF, SRTF or Round Robin on several CPUs. With a global run queue every CPU takes
+// the next process from one shared queue; with per-CPU run queues an arrival goes to an idle or
+// the least loaded CPU, a CPU that runs dry steals from the busiest queue, and every
+// BALANCE_INTERVAL a balancing pass moves queued processes from the longest queue to the least
+// loaded CPU until no two loads differ by more than one. A process that resumes on another CPU
+// than it last ran on can be charged a migration cost, time during which that CPU does no useful work.
+//
+// The simulation is event-driven over slice ends and arrivals, with the CPUs' next events in a
+// heap and the per-CPU loads and queue lengths in tournament trees (LoadIndex). A slice costs
+// O(log cpus), its share of the tree updates included, and placing an arrival, a steal or a
+// balancing move then costs O(1) plus that, however many CPUs there are. On one CPU it produces
+// exactly the single-CPU schedule of the same policy.
+public final class MultiCpuPolicy implements SchedulingPolicy {
+    private enum Kind { FCFS, SJF, SRTF, RR }
+
+    private static final int BALANCE_INTERVAL = 100; // time units between balancing passes
+
+    private final SchedulingPolicy base;
+    private final Kind kind;
+    private final int timeQuantum;
+    private final int cpus;
+    private final boolean perCpuQueues;
+    private final int migrationCost;
+
+    public MultiCpuPolicy(SchedulingPolicy base, int cpus, boolean perCpuQueues, int migrationCost) {
+        if (cpus < 1) {
+            throw new IllegalArgumentException("Need at least one CPU, got " + cpus);
+        }
+        if (migrationCost < 0) {
+            throw new IllegalArgumentException("Migration cost must not be negative, got " + migrationCost);
+        }
+        if (base instanceof FcfsPolicy) {
+            kind = Kind.FCFS;
+        } else if (base instanceof SjfPolicy) {
+            kind = Kind.SJF;
+        } else if (base instanceof SrtfPolicy) {
+            kind = Kind.SRTF;
+        } else if (base instanceof RoundRobinPolicy) {
+            kind = Kind.RR;
+        } else {
+            throw new IllegalArgumentException(base.description() + " has no multi-CPU mode");
+        }
+        this.base = base;
+        this.timeQuantum = kind == Kind.RR ? ((RoundRobinPolicy) base).timeQuantum() : 0;
+        this.cpus = cpus;
+        this.perCpuQueues = perCpuQueues;
+        this.migrationCost = migrationCost;
+    }
+
+    // True for the policies that have a multi-CPU mode
+    public static boolean supports(SchedulingPolicy policy) {
+        return policy instanceof FcfsPolicy || policy instanceof SjfPolicy
+                || policy instanceof SrtfPolicy || policy instanceof RoundRobinPolicy;
+    }
+
+    public int cpus() {
+        return cpus;
+    }
+
+    @Override
+    public String name() {
+        return base.name();
+    }
+
+    @Override
+    public String description() {
+        return base.description() + " on " + cpus + (cpus == 1 ? " CPU (" : " CPUs (") + (perCpuQueues ? "per-CPU queues" : "global queue")
+                + (migrationCost > 0 ? ", migration cost " + migrationCost : "") + ")";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload workload) {
+        return new Run(workload).run();
+    }
+
+    private final class Run {
+        final SchedulerTelemetry.Run telemetry = SchedulerTelemetry.startRun(); // first, to see every allocation
+        final Workload workload;
+        final int n;
+        final int[] arrivalOrder;
+        final int[] arrivalPosition; // SJF tie-break, as in SjfPolicy
+        final int[] remainingTimes;
+        final int[] lastCpu;
+        final int[] completionTimes;
+        final Timeline[] lanes;
+        final RunQueue[] queues;     // all the same instance with a global queue
+        final LoadIndex leastLoaded; // per-CPU queues only
+        final LoadIndex longestQueue;
+
+        final int[] running;         // process on each CPU, -1 if idle
+        final int[] sliceStarts;
+        final int[] sliceEnds;
+        final BitSet idle = new BitSet();
+        final LongHeap events;       // (slice end, cpu); entries of preempted slices are skipped
+        final LongHeap longestRunning; // SRTF, global queue: (-slice end, cpu), stale entries skipped
+        final int[] preempted;       // RR: back in the queues after this instant's arrivals
+        int preemptedCount;
+        int queued;                  // processes in all run queues
+        int[] batch = new int[16];   // scratch for ordering a batch of Round Robin arrivals
+        int nextArrival;
+        int completed;
+        long steps;
+        long nextBalance;
+
+        Run(Workload workload) {
+            this.workload = workload;
+            this.n = workload.size();
+            this.arrivalOrder = workload.arrivalOrder();
+            this.remainingTimes = new int[n];
+            for (int i = 0; i < n; i++) {
+                remainingTimes[i] = workload.burstTime(i);
+            }
+            this.lastCpu = new int[n];
+            Arrays.fill(lastCpu, -1);
+            this.completionTimes = new int[n];
+            if (kind == Kind.SJF) {
+                arrivalPosition = new int[n];
+                for (int k = 0; k < n; k++) {
+                    arrivalPosition[arrivalOrder[k]] = k;
+                }
+            } else {
+                arrivalPosition = null;
+            }
+
+            lanes = new Timeline[cpus];
+            queues = new RunQueue[cpus];
+            RunQueue global = perCpuQueues ? null : new RunQueue(-1, n);
+            for (int c = 0; c < cpus; c++) {
+                lanes[c] = new Timeline(n / cpus + 4);
+                queues[c] = perCpuQueues ? new RunQueue(c, 16) : global;
+            }
+            running = new int[cpus];
+            Arrays.fill(running, -1);
+            leastLoaded = perCpuQueues ? new LoadIndex(false) : null;
+            longestQueue = perCpuQueues ? new LoadIndex(true) : null;
+            sliceStarts = new int[cpus];
+            sliceEnds = new int[cpus];
+            idle.set(0, cpus);
+            events = new LongHeap(cpus);
+            longestRunning = kind == Kind.SRTF && !perCpuQueues ? new LongHeap(cpus) : null;
+            preempted = new int[cpus];
+        }
+
+        ScheduleResult run() {
+            while (completed != n) {
+                if ((++steps & (SimulationProgress.CHECK_INTERVAL - 1)) == 0) {
+                    SimulationProgress.report(completed, n);
+                }
+                if ((steps & (SchedulerTelemetry.SAMPLE_INTERVAL - 1)) == 0) {
+                    telemetry.sampleRunnable(queued + cpus - idle.cardinality());
+                }
+                int time = nextEventTime();
+
+                // 1. Slices ending now, in CPU order
+                while (!events.isEmpty() && LongHeap.key(events.peek()) == time) {
+                    int cpu = LongHeap.tie(events.poll());
+                    if (running[cpu] >= 0 && sliceEnds[cpu] == time) {
+                        endSlice(cpu, time);
+                    }
+                }
+                // 2. Arrivals up to now
+                admitArrivals(time);
+                // 3. Round Robin puts the preempted processes back behind the newcomers
+                for (int i = 0; i < preemptedCount; i++) {
+                    int idx = preempted[i];
+                    queues[lastCpu[idx]].add(idx);
+                }
+                preemptedCount = 0;
+                // 4. Idle CPUs pick up work, then SRTF lets the shortest waiting jobs displace the longest running ones
+                dispatchIdle(time);
+                if (longestRunning != null) {
+                    preemptLongestWhileShorter(time);
+                }
+                // 5. Per-CPU queues: the periodic balancing pass
+                if (perCpuQueues && cpus > 1 && time >= nextBalance) {
+                    balance(time);
+                    nextBalance = (long) time + BALANCE_INTERVAL;
+                }
+            }
+            long slices = 0;
+            for (Timeline lane : lanes) {
+                slices += lane.size();
+            }
+            telemetry.end(description(), n, steps, slices);
+            return new ScheduleResult(workload, lanes, completionTimes, null);
+        }
+
+        private int nextEventTime() {
+            while (!events.isEmpty()) {
+                int cpu = LongHeap.tie(events.peek());
+                if (running[cpu] >= 0 && sliceEnds[cpu] == LongHeap.key(events.peek())) {
+                    break;
+                }
+                events.poll(); // slice was preempted
+            }
+            int time = events.isEmpty() ? Integer.MAX_VALUE : LongHeap.key(events.peek());
+            // With every CPU busy only SRTF acts on an arrival; the others queue it at the next slice end
+            if (nextArrival < n && (kind == Kind.SRTF || !idle.isEmpty())) {
+                time = Math.min(time, workload.arrivalTime(arrivalOrder[nextArrival]));
+            }
+            return time;
+        }
+
+        private long queueKey(int idx) {
+            switch (kind) {
+                case SJF:
+                    return LongHeap.pack(workload.burstTime(idx), arrivalPosition[idx]);
+                case SRTF:
+                    return LongHeap.pack(remainingTimes[idx], idx);
+                default:
+                    return idx; // FIFO queues ignore the key
+            }
+        }
+
+        // Round Robin queues a batch that arrived within one slice in entry order, like RoundRobinPolicy
+        private void admitArrivals(int time) {
+            int batchEnd = nextArrival;
+            while (batchEnd < n && workload.arrivalTime(arrivalOrder[batchEnd]) <= time) {
+                batchEnd++;
+            }
+            int count = batchEnd - nextArrival;
+            if (kind == Kind.RR && count > 1) {
+                if (batch.length < count) {
+                    batch = new int[Math.max(count, batch.length * 2)];
+                }
+                System.arraycopy(arrivalOrder, nextArrival, batch, 0, count);
+                Arrays.sort(batch, 0, count);
+                for (int i = 0; i < count; i++) {
+                    admit(batch[i], time);
+                }
+            } else {
+                for (int k = nextArrival; k < batchEnd; k++) {
+                    admit(arrivalOrder[k], time);
+                }
+            }
+            nextArrival = batchEnd;
+        }
+
+        private void admit(int idx, int time) {
+            int cpu = 0;
+            if (perCpuQueues) {
+                cpu = placementFor();
+                lastCpu[idx] = -1; // placement is not a migration
+            }
+            queues[cpu].add(idx);
+            if (kind == Kind.SRTF && perCpuQueues) {
+                preemptIfShorter(cpu, time);
+            }
+        }
+
+        // Per-CPU queues: the CPU with the least work queued (running process included), lowest
+        // id on ties, so an idle CPU with nothing queued first
+        private int placementFor() {
+            return leastLoaded.best();
+        }
+
+        private int load(int cpu) {
+            return queues[cpu].size() + (running[cpu] >= 0 ? 1 : 0);
+        }
+
+        // Remaining time of the process on cpu as of time, including a migration not yet paid
+        private int remainingOn(int cpu, int time) {
+            return remainingTimes[running[cpu]] + sliceEnds[cpu] - Math.max(time, sliceStarts[cpu]);
+        }
+
+        // SRTF on its own queue: the shortest queued process takes the CPU if it beats the
+        // running one, (remaining, index) compared the same way SrtfPolicy does
+        private boolean preemptIfShorter(int cpu, int time) {
+            if (running[cpu] < 0 || queues[cpu].isEmpty()) {
+                return false;
+            }
+            long runningKey = LongHeap.pack(remainingOn(cpu, time), running[cpu]);
+            if (queues[cpu].peekKey() >= runningKey) {
+                return false;
+            }
+            preempt(cpu, time);
+            return true;
+        }
+
+        // SRTF on the global queue: while the best waiting process beats the one with the most
+        // work left, that one goes back in the queue and its CPU takes the better one
+        private void preemptLongestWhileShorter(int time) {
+            while (!queues[0].isEmpty()) {
+                while (!longestRunning.isEmpty()) {
+                    int cpu = LongHeap.tie(longestRunning.peek());
+                    if (running[cpu] >= 0 && -sliceEnds[cpu] == LongHeap.key(longestRunning.peek())) {
+                        break;
+                    }
+                    longestRunning.poll(); // slice already ended or was preempted
+                }
+                if (longestRunning.isEmpty()) {
+                    return;
+                }
+                int cpu = LongHeap.tie(longestRunning.peek());
+                if (!preemptIfShorter(cpu, time)) {
+                    return;
+                }
+                while (running[cpu] < 0 && dispatch(cpu, time)) {
+                    // zero-burst processes complete on the spot
+                }
+            }
+        }
+
+        private void preempt(int cpu, int time) {
+            int idx = running[cpu];
+            int start = sliceStarts[cpu];
+            remainingTimes[idx] = remainingOn(cpu, time);
+            if (time > start) {
+                lanes[cpu].append(idx, start, time);
+            }
+            running[cpu] = -1;
+            idle.set(cpu);
+            queues[cpu].add(idx);
+        }
+
+        private void endSlice(int cpu, int time) {
+            int idx = running[cpu];
+            lanes[cpu].append(idx, sliceStarts[cpu], time);
+            running[cpu] = -1;
+            idle.set(cpu);
+            if (leastLoaded != null) {
+                leastLoaded.mark(cpu);
+            }
+            if (remainingTimes[idx] <= 0) {
+                complete(idx, time);
+            } else {
+                preempted[preemptedCount++] = idx; // only Round Robin slices end with work left
+            }
+        }
+
+        private void complete(int idx, int time) {
+            remainingTimes[idx] = 0;
+            completionTimes[idx] = time;
+            completed++;
+        }
+
+        private void dispatchIdle(int time) {
+            for (int cpu = idle.nextSetBit(0); cpu >= 0 && queued > 0; cpu = idle.nextSetBit(cpu + 1)) {
+                while (running[cpu] < 0 && dispatch(cpu, time)) {
+                    // a zero-burst process completes on the spot, so the CPU picks again
+                }
+            }
+        }
+
+        // Gives cpu its next process, stealing one if its own queue is empty. False if none.
+        private boolean dispatch(int cpu, int time) {
+            RunQueue queue = queues[cpu];
+            if (queue.isEmpty() && perCpuQueues) {
+                RunQueue victim = busiestQueue();
+                if (victim == null) {
+                    return false;
+                }
+                queue.add(victim.poll());
+            }
+            if (queue.isEmpty()) {
+                return false;
+            }
+            int idx = queue.poll();
+            int slice = remainingTimes[idx];
+            if (kind == Kind.RR) {
+                slice = Math.min(timeQuantum, Math.max(slice, 0));
+            }
+            if (slice <= 0) {
+                complete(idx, time); // zero-burst processes finish without holding the CPU
+                return true;
+            }
+            long end = (long) time + slice;
+            if (lastCpu[idx] >= 0 && lastCpu[idx] != cpu) {
+                end += migrationCost;
+            }
+            if (end > Integer.MAX_VALUE) {
+                // Workload bounds everything else; migrations are the one cost it cannot see
+                throw new ArithmeticException("Migration costs push the schedule past time " + Integer.MAX_VALUE);
+            }
+            int start = (int) end - slice;
+            lastCpu[idx] = cpu;
+            remainingTimes[idx] -= slice;
+            running[cpu] = idx;
+            sliceStarts[cpu] = start;
+            sliceEnds[cpu] = start + slice;
+            idle.clear(cpu);
+            if (leastLoaded != null) {
+                leastLoaded.mark(cpu);
+            }
+            events.add(LongHeap.pack(start + slice, cpu));
+            if (longestRunning != null) {
+                longestRunning.add(LongHeap.pack(-(start + slice), cpu));
+                if (longestRunning.size() > 4 * cpus) {
+                    rebuildLongestRunning();
+                }
+            }
+            return true;
+        }
+
+        // Moves queued processes from the longest queue to the least loaded CPU while its load is
+        // two or more above that CPU's. Each move lowers the sum of squared loads, so this ends.
+        private void balance(int time) {
+            while (true) {
+                int from = longestQueue.best();
+                int to = leastLoaded.best();
+                if (load(from) - load(to) < 2) {
+                    return;
+                }
+                queues[to].add(queues[from].poll());
+                if (kind == Kind.SRTF) {
+                    preemptIfShorter(to, time);
+                }
+                while (running[to] < 0 && dispatch(to, time)) {
+                    // an idle CPU starts on it (zero-burst processes complete on the spot)
+                }
+            }
+        }
+
+        // The longest queue, lowest id on ties, or null if every queue is empty
+        private RunQueue busiestQueue() {
+            RunQueue busiest = queues[longestQueue.best()];
+            return busiest.isEmpty() ? null : busiest;
+        }
+
+        // Drops the stale entries that piled up below the top
+        private void rebuildLongestRunning() {
+            while (!longestRunning.isEmpty()) {
+                longestRunning.poll();
+            }
+            for (int c = 0; c < cpus; c++) {
+                if (running[c] >= 0) {
+                    longestRunning.add(LongHeap.pack(-sliceEnds[c], c));
+                }
+            }
+        }
+
+        // Per-CPU queues: a tournament tree over the CPUs whose inner nodes hold the CPU with
+        // the least load (or the longest queue) below them, lowest id winning ties, so the root
+        // answers placement (or stealing) in O(1). Changes only mark their CPU; the next query
+        // re-reads the marked CPUs and walks up from those whose figure really changed, O(log cpus)
+        // each and stopping where the winner stays the same, or redoes every node in O(cpus) when
+        // that is cheaper. A Round Robin slice ending and its CPU taking the next process leaves
+        // the figures as they were, so it costs no walk at all.
+        private final class LoadIndex {
+            private final boolean longest; // by queue length, largest first; else by load, smallest first
+            private final int leaves;
+            private final int[] winner;    // CPU per node, -1 under padding leaves only
+            private final int[] value;     // per CPU, as of the last query
+            private final boolean[] marked;
+            private final int[] changed;
+            private final int rebuildAbove; // changed CPUs whose walks would cost more than a rebuild
+            private int changedCount;
+
+            LoadIndex(boolean longest) {
+                this.longest = longest;
+                leaves = Integer.highestOneBit(Math.max(cpus - 1, 1)) << 1;
+                rebuildAbove = leaves / Integer.numberOfTrailingZeros(leaves);
+                winner = new int[2 * leaves];
+                value = new int[cpus];
+                marked = new boolean[cpus];
+                changed = new int[cpus];
+                for (int i = 0; i < leaves; i++) {
+                    winner[leaves + i] = i < cpus ? i : -1;
+                }
+                for (int node = leaves - 1; node >= 1; node--) {
+                    pull(node);
+                }
+            }
+
+            int best() {
+                if (changedCount > rebuildAbove) {
+                    // Cheaper to redo every node once than to walk up from each changed CPU
+                    for (int i = 0; i < changedCount; i++) {
+                        int cpu = changed[i];
+                        marked[cpu] = false;
+                        value[cpu] = longest ? queues[cpu].size() : load(cpu);
+                    }
+                    for (int node = leaves - 1; node >= 1; node--) {
+                        pull(node);
+                    }
+                    changedCount = 0;
+                    return winner[1];
+                }
+                for (int i = 0; i < changedCount; i++) {
+                    int cpu = changed[i];
+                    marked[cpu] = false;
+                    int now = longest ? queues[cpu].size() : load(cpu);
+                    if (now == value[cpu]) {
+                        continue;
+                    }
+                    value[cpu] = now;
+                    for (int node = (leaves + cpu) >> 1; node >= 1; node >>= 1) {
+                        int before = winner[node];
+                        pull(node);
+                        if (winner[node] == before && before != cpu) {
+                            break; // nothing above changes either
+                        }
+                    }
+                }
+                changedCount = 0;
+                return winner[1];
+            }
+
+            void mark(int cpu) {
+                if (!marked[cpu]) {
+                    marked[cpu] = true;
+                    changed[changedCount++] = cpu;
+                }
+            }
+
+            private void pull(int node) {
+                int a = winner[2 * node];
+                int b = winner[2 * node + 1];
+                boolean left = b < 0 || (longest ? value[a] >= value[b] : value[a] <= value[b]);
+                winner[node] = left ? a : b;
+            }
+        }
+
+        // Ready queue of one CPU (or all of them): FIFO for FCFS and RR, a heap for SJF and SRTF
+        private final class RunQueue {
+            private final int cpu;       // -1 for the global queue
+            private final LongHeap heap;
+            private int[] ring;
+            private int head;
+            private int size;
+
+            RunQueue(int cpu, int capacity) {
+                this.cpu = cpu;
+                if (kind == Kind.SJF || kind == Kind.SRTF) {
+                    heap = new LongHeap(capacity);
+                } else {
+                    heap = null;
+                    ring = new int[Math.max(capacity, 1)];
+                }
+            }
+
+            void add(int idx) {
+                queued++;
+                if (heap != null) {
+                    heap.add(queueKey(idx));
+                } else {
+                    addLast(idx);
+                }
+                if (cpu >= 0) {
+                    leastLoaded.mark(cpu);
+                    longestQueue.mark(cpu);
+                }
+            }
+
+            private void addLast(int idx) {
+                if (size == ring.length) {
+                    int[] grown = new int[ring.length * 2];
+                    for (int i = 0; i < size; i++) {
+                        grown[i] = ring[(head + i) % ring.length];
+                    }
+                    ring = grown;
+                    head = 0;
+                }
+                ring[(head + size) % ring.length] = idx;
+                size++;
+            }
+
+            int poll() {
+                queued--;
+                int idx;
+                if (heap != null) {
+                    long entry = heap.poll();
+                    // SJF keys carry the arrival position, SRTF keys the index itself
+                    idx = kind == Kind.SJF ? arrivalOrder[LongHeap.tie(entry)] : LongHeap.tie(entry);
+                } else {
+                    idx = ring[head];
+                    head = (head + 1) % ring.length;
+                    size--;
+                }
+                if (cpu >= 0) {
+                    leastLoaded.mark(cpu);
+                    longestQueue.mark(cpu);
+                }
+                return idx;
+            }
+
+            long peekKey() {
+                return heap.peek();
+            }
+
+            int size() {
+                return heap != null ? heap.size() : size;
+            }
+
+            boolean isEmpty() {
+                return size() == 0;
+            }
+        }
+    }
+}
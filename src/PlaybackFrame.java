@@ -0,0 +1,148 @@
+import javax.swing.*;
+import java.awt.*;
+
+// Animated playback of one schedule: a time slider, Play/Pause, the Gantt chart with a line at
+// the current time, and what each CPU runs and who waits at that time. Every frame and every
+// slider move is a PlaybackIndex.seek(), so scrubbing costs the same anywhere in a long schedule.
+public class PlaybackFrame extends JFrame {
+    private static final int FRAME_MILLIS = 40;
+    private static final double DEFAULT_SECONDS = 20; // default speed plays the whole schedule in this long
+
+    private final PlaybackIndex index;
+    private final GanttPanel ganttPanel = new GanttPanel();
+    private final JSlider timeSlider;
+    private final JSpinner speedSpinner;
+    private final JButton playButton = new JButton("Play");
+    private final JLabel timeLabel = new JLabel(" ");
+    private final DefaultListModel<String> running = new DefaultListModel<>();
+    private final WaitingModel waiting = new WaitingModel();
+    private final Timer timer = new Timer(FRAME_MILLIS, e -> advance());
+    private double playTime; // fractional, so slow speeds still move
+
+    public PlaybackFrame(PlaybackIndex index, String policy) {
+        this.index = index;
+        ScheduleResult result = index.result();
+        int makespan = result.makespan();
+        setTitle("Playback - " + policy);
+        setSize(1000, 650);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE); // stops the timer with it
+        setLayout(new BorderLayout());
+
+        // 1. Controls (Top)
+        timeSlider = new JSlider(0, makespan, 0);
+        double defaultSpeed = Math.max(1, Math.ceil(makespan / DEFAULT_SECONDS));
+        speedSpinner = new JSpinner(new SpinnerNumberModel(defaultSpeed, 1.0, Math.max(defaultSpeed, 1e9), defaultSpeed / 4));
+        JPanel controls = new JPanel(new BorderLayout(8, 0));
+        controls.setBorder(BorderFactory.createEmptyBorder(6, 6, 6, 6));
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
+        buttons.add(playButton);
+        buttons.add(new JLabel("Speed (time units/s):"));
+        buttons.add(speedSpinner);
+        buttons.add(timeLabel);
+        controls.add(buttons, BorderLayout.NORTH);
+        controls.add(timeSlider, BorderLayout.SOUTH);
+        add(controls, BorderLayout.NORTH);
+
+        // 2. Gantt chart (Center) and the state at the current time (Bottom)
+        ganttPanel.setPreferredSize(new Dimension(900, Math.max(150, Math.min(GanttPanel.preferredHeight(result.cpuCount()), 400))));
+        ganttPanel.setResult(result);
+        JList<String> runningList = new JList<>(running);
+        JList<String> waitingList = new JList<>(waiting);
+        waitingList.setPrototypeCellValue("P0000000 (0000000000 left)"); // fixed cell size: the queue can be huge
+        JPanel state = new JPanel(new GridLayout(1, 2, 8, 0));
+        state.add(titled(new JScrollPane(runningList), "Running"));
+        state.add(titled(new JScrollPane(waitingList), "Waiting (arrival order)"));
+        state.setPreferredSize(new Dimension(900, 200));
+        add(new JSplitPane(JSplitPane.VERTICAL_SPLIT, ganttPanel, state), BorderLayout.CENTER);
+
+        timeSlider.addChangeListener(e -> {
+            if (!timer.isRunning() || timeSlider.getValueIsAdjusting()) {
+                playTime = timeSlider.getValue(); // dragging while playing carries on from there
+            }
+            show(timeSlider.getValue());
+        });
+        playButton.addActionListener(e -> {
+            if (timer.isRunning()) {
+                pause();
+            } else {
+                if (timeSlider.getValue() >= makespan) {
+                    playTime = 0; // start over from the end
+                }
+                timer.start();
+                playButton.setText("Pause");
+            }
+        });
+        show(0);
+    }
+
+    private static JComponent titled(JComponent component, String title) {
+        component.setBorder(BorderFactory.createTitledBorder(title));
+        return component;
+    }
+
+    private void advance() {
+        playTime += (Double) speedSpinner.getValue() * FRAME_MILLIS / 1000.0;
+        if (playTime >= timeSlider.getMaximum()) {
+            playTime = timeSlider.getMaximum();
+            pause();
+        }
+        timeSlider.setValue((int) playTime);
+    }
+
+    private void pause() {
+        timer.stop();
+        playButton.setText("Play");
+    }
+
+    private void show(int time) {
+        PlaybackIndex.State state = index.seek(time);
+        Workload workload = index.result().workload();
+        timeLabel.setText("t = " + time + " | arrived " + state.arrived + ", completed " + state.completed
+                + ", waiting " + state.waiting.length);
+        running.clear();
+        for (int cpu = 0; cpu < state.running.length; cpu++) {
+            String cpuName = state.running.length > 1 ? "CPU " + cpu + ": " : "";
+            int p = state.running[cpu];
+            running.addElement(cpuName + (p == -1 ? "Idle" : workload.pid(p) + " (" + state.runningRemaining[cpu] + " left)"));
+        }
+        waiting.setState(state, workload);
+        ganttPanel.setMarker(time);
+    }
+
+    @Override
+    public void dispose() {
+        timer.stop();
+        super.dispose();
+    }
+
+    // Formats the waiting processes on demand, so a long queue costs nothing until it is scrolled to
+    private static final class WaitingModel extends AbstractListModel<String> {
+        private PlaybackIndex.State state;
+        private Workload workload;
+
+        void setState(PlaybackIndex.State state, Workload workload) {
+            int before = getSize();
+            this.state = state;
+            this.workload = workload;
+            int after = getSize();
+            if (after < before) {
+                fireIntervalRemoved(this, after, before - 1);
+            } else if (after > before) {
+                fireIntervalAdded(this, before, after - 1);
+            }
+            if (Math.min(before, after) > 0) {
+                fireContentsChanged(this, 0, Math.min(before, after) - 1);
+            }
+        }
+
+        @Override
+        public int getSize() {
+            return state == null ? 0 : state.waiting.length;
+        }
+
+        @Override
+        public String getElementAt(int i) {
+            return workload.pid(state.waiting[i]) + " (" + state.waitingRemaining[i] + " left)";
+        }
+    }
+}
@@ -0,0 +1,208 @@
+import java.util.Arrays;
+
+// Random access to the state of a finished schedule at any instant, for animated playback: which
+// process each CPU runs, and which have arrived but are waiting, with their remaining burst.
+//
+// One pass over the timelines (all CPUs merged in time order) records sparse checkpoints in a
+// CheckpointLog: each holds the unfinished arrived processes with their remaining time, in
+// arrival order. seek() starts from the latest checkpoint at or before the time asked for and
+// replays the arrivals and slices in between, so its cost is bounded by the log's interval and
+// not by how far into the schedule the time is. Works from the result alone, so any policy,
+// any CPU count and replayed event logs can be played back.
+//
+// seek() reuses one scratch column: call it from one thread at a time (the EDT).
+public final class PlaybackIndex {
+    private final ScheduleResult result;
+    private final CheckpointLog checkpoints;
+    private final int[] remaining; // scratch for seek(), valid only for the processes it touches
+
+    private PlaybackIndex(ScheduleResult result, CheckpointLog checkpoints) {
+        this.result = result;
+        this.checkpoints = checkpoints;
+        this.remaining = new int[result.size()];
+    }
+
+    // What the system looked like at 'time'. Running processes are not in the queue.
+    public static final class State {
+        public final int time;
+        public final int[] running;          // process per CPU, -1 when idle
+        public final int[] runningRemaining; // their remaining burst, -1 when idle
+        public final int[] waiting;          // arrived, unfinished and not running, in arrival order
+        public final int[] waitingRemaining;
+        public final int arrived;
+        public final int completed;
+
+        State(int time, int[] running, int[] runningRemaining, int[] waiting, int[] waitingRemaining,
+              int arrived, int completed) {
+            this.time = time;
+            this.running = running;
+            this.runningRemaining = runningRemaining;
+            this.waiting = waiting;
+            this.waitingRemaining = waitingRemaining;
+            this.arrived = arrived;
+            this.completed = completed;
+        }
+    }
+
+    public static PlaybackIndex build(ScheduleResult result) {
+        Workload workload = result.workload();
+        int n = workload.size();
+        int cpus = result.cpuCount();
+        int[] order = workload.arrivalOrder();
+        CheckpointLog log = new CheckpointLog("playback", n);
+        int[] remaining = new int[n];
+        int[] unfinished = new int[Math.max(n, 1)]; // arrived processes in arrival order, finished ones dropped lazily
+        int unfinishedCount = 0;
+
+        long total = n;
+        LongHeap starts = new LongHeap(cpus); // (next slice start, cpu)
+        int[] cursor = new int[cpus];
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            total += result.timeline(cpu).size();
+            if (!result.timeline(cpu).isEmpty()) {
+                starts.add(LongHeap.pack(result.timeline(cpu).startTime(0), cpu));
+            }
+        }
+
+        long steps = 0;
+        int slices = 0;
+        int nextArrival = 0;
+        while (!starts.isEmpty()) {
+            long next = starts.poll();
+            int time = LongHeap.key(next);
+            int cpu = LongHeap.tie(next);
+            while (nextArrival < n && workload.arrivalTime(order[nextArrival]) <= time) {
+                int p = order[nextArrival++];
+                remaining[p] = workload.burstTime(p);
+                unfinished[unfinishedCount++] = p;
+                steps++;
+            }
+            if (log.due(steps)) {
+                // Drop what finished, then snapshot; slices still running on other CPUs were
+                // charged in full when they started, so give back the part after 'time'
+                int kept = 0;
+                for (int i = 0; i < unfinishedCount; i++) {
+                    if (result.completionTime(unfinished[i]) > time) {
+                        unfinished[kept++] = unfinished[i];
+                    }
+                }
+                unfinishedCount = kept;
+                chargeAfter(result, cursor, remaining, time, -1);
+                long[] queue = new long[kept];
+                for (int i = 0; i < kept; i++) {
+                    queue[i] = LongHeap.pack(remaining[unfinished[i]], unfinished[i]);
+                }
+                chargeAfter(result, cursor, remaining, time, 1);
+                log.add(new Checkpoint(time, time, nextArrival, nextArrival - kept, slices, 0, steps, queue));
+            }
+            Timeline timeline = result.timeline(cpu);
+            int slice = cursor[cpu]++;
+            remaining[timeline.processIndex(slice)] -= timeline.endTime(slice) - timeline.startTime(slice);
+            slices++;
+            if (cursor[cpu] < timeline.size()) {
+                starts.add(LongHeap.pack(timeline.startTime(cursor[cpu]), cpu));
+            }
+            if ((++steps & (SimulationProgress.CHECK_INTERVAL - 1)) == 0) {
+                SimulationProgress.report(steps, total);
+            }
+        }
+        return new PlaybackIndex(result, log);
+    }
+
+    // Charges (sign 1) or refunds (sign -1) the part after 'time' of each CPU's last started slice
+    private static void chargeAfter(ScheduleResult result, int[] cursor, int[] remaining, int time, int sign) {
+        for (int cpu = 0; cpu < cursor.length; cpu++) {
+            int last = cursor[cpu] - 1;
+            Timeline timeline = result.timeline(cpu);
+            if (last >= 0 && timeline.endTime(last) > time) {
+                remaining[timeline.processIndex(last)] -= sign * (timeline.endTime(last) - time);
+            }
+        }
+    }
+
+    public ScheduleResult result() {
+        return result;
+    }
+
+    public State seek(int time) {
+        Workload workload = result.workload();
+        int[] order = workload.arrivalOrder();
+        Checkpoint from = checkpoints.latestAtOrBefore(time);
+        long fromTime = from == null ? Long.MIN_VALUE : from.time;
+        int admitted = from == null ? 0 : from.nextArrival;
+
+        // 1. The checkpoint's unfinished processes, then everything arriving up to 'time'
+        int arrived = arrivedBy(order, time, admitted);
+        int[] live = new int[(from == null ? 0 : from.readyQueue.length) + arrived - admitted];
+        int count = 0;
+        if (from != null) {
+            for (long entry : from.readyQueue) {
+                int p = LongHeap.tie(entry);
+                remaining[p] = LongHeap.key(entry);
+                live[count++] = p;
+            }
+        }
+        for (int i = admitted; i < arrived; i++) {
+            int p = order[i];
+            remaining[p] = workload.burstTime(p);
+            live[count++] = p;
+        }
+
+        // 2. Charge the CPU time between the checkpoint and 'time'
+        int cpus = result.cpuCount();
+        int[] running = new int[cpus];
+        int[] runningRemaining = new int[cpus];
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            Timeline timeline = result.timeline(cpu);
+            int slice = timeline.firstSliceEndingAfter(from == null ? Integer.MIN_VALUE : from.time);
+            for (; slice < timeline.size() && timeline.startTime(slice) < time; slice++) {
+                long start = Math.max(timeline.startTime(slice), fromTime);
+                remaining[timeline.processIndex(slice)] -= (int) (Math.min(timeline.endTime(slice), time) - start);
+            }
+            running[cpu] = timeline.processAt(time);
+        }
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            if (running[cpu] != -1) {
+                runningRemaining[cpu] = remaining[running[cpu]];
+                remaining[running[cpu]] = -1; // marks it as running for step 3
+            } else {
+                runningRemaining[cpu] = -1;
+            }
+        }
+
+        // 3. Whatever has not completed by 'time' and is not on a CPU is waiting
+        int waitingCount = 0;
+        int unfinished = 0;
+        for (int i = 0; i < count; i++) {
+            int p = live[i];
+            if (result.completionTime(p) > time) {
+                unfinished++;
+                if (remaining[p] >= 0) {
+                    live[waitingCount++] = p;
+                }
+            }
+        }
+        int[] waiting = Arrays.copyOf(live, waitingCount);
+        int[] waitingRemaining = new int[waitingCount];
+        for (int i = 0; i < waitingCount; i++) {
+            waitingRemaining[i] = remaining[waiting[i]];
+        }
+        return new State(time, running, runningRemaining, waiting, waitingRemaining, arrived, arrived - unfinished);
+    }
+
+    // Arrival-order position of the first process arriving after 'time', searching from 'from'
+    private int arrivedBy(int[] order, int time, int from) {
+        Workload workload = result.workload();
+        int lo = from;
+        int hi = workload.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (workload.arrivalTime(order[mid]) <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
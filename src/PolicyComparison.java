@@ -0,0 +1,100 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+
+// Runs several policies over the same workload at once on the common ForkJoinPool, so comparing
+// them takes about as long as the slowest one alone. Policies share nothing but the read-only
+// workload. Interrupting the calling thread cancels every run still in progress.
+public final class PolicyComparison {
+    private static final long POLL_MILLIS = 50;
+
+    private PolicyComparison() {
+    }
+
+    // Every policy in the usual combo box order, RR with the given quantum
+    public static List<SchedulingPolicy> allPolicies(int timeQuantum) {
+        List<SchedulingPolicy> policies = new ArrayList<>();
+        policies.add(new FcfsPolicy());
+        policies.add(new SjfPolicy());
+        policies.add(new SrtfPolicy());
+        policies.add(new RoundRobinPolicy(timeQuantum));
+        policies.add(new CfsPolicy());
+        return policies;
+    }
+
+    // One result per policy, in the same order
+    public static List<ScheduleResult> run(Workload workload, List<SchedulingPolicy> policies) {
+        return run(workload, policies, (policy, result) -> result);
+    }
+
+    // Same, but each worker also turns its result into whatever the caller needs (metrics, table
+    // rows), so that work runs in parallel and off the caller's thread too
+    public static <T> List<T> run(Workload workload, List<SchedulingPolicy> policies,
+                                  BiFunction<SchedulingPolicy, ScheduleResult, T> finish) {
+        workload.arrivalOrder(); // sort once up front instead of once per worker
+
+        int count = policies.size();
+        List<ForkJoinTask<T>> tasks = new ArrayList<>(count);
+        SimulationProgress[] progress = new SimulationProgress[count];
+        for (int i = 0; i < count; i++) {
+            SchedulingPolicy policy = policies.get(i);
+            SimulationProgress runProgress = new SimulationProgress();
+            progress[i] = runProgress;
+            tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                runProgress.install();
+                try {
+                    return finish.apply(policy, policy.schedule(workload));
+                } finally {
+                    runProgress.uninstall();
+                }
+            }));
+        }
+
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (ForkJoinTask<T> task : tasks) {
+                results.add(await(task, tasks, progress));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cancelAll(progress);
+        } catch (CancellationException e) {
+            throw cancelAll(progress);
+        } catch (ExecutionException e) {
+            cancelAll(progress);
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    // Waits for one run, meanwhile reporting the average progress of all of them to this thread
+    private static <T> T await(ForkJoinTask<T> task, List<ForkJoinTask<T>> tasks, SimulationProgress[] progress)
+            throws InterruptedException, ExecutionException {
+        while (true) {
+            try {
+                return task.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException stillRunning) {
+                double sum = 0;
+                for (int i = 0; i < progress.length; i++) {
+                    sum += tasks.get(i).isDone() ? 1 : progress[i].fraction();
+                }
+                SimulationProgress.report((long) (sum * 1000), progress.length * 1000L);
+            }
+        }
+    }
+
+    private static CancellationException cancelAll(SimulationProgress[] progress) {
+        for (SimulationProgress p : progress) {
+            p.cancel();
+        }
+        return new CancellationException("Comparison cancelled");
+    }
+}
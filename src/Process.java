@@ -6,6 +6,9 @@ public class Process {
     int completionTime;  // When it finishes
     int waitingTime;     // Time spent waiting in the 'Ready Queue'
     int turnAroundTime;  // Total time from arrival to completion
+    int firstRunTime;    // When it first gets the CPU (its completion time if it never needs it)
+    int responseTime;    // Time from arrival to first run
+    int nice;            // -20 (highest priority) .. 19, weighs the CPU share under CFS
 
     public Process(String pid, int arrivalTime, int burstTime) {
         this.pid = pid;
@@ -13,4 +16,9 @@ public class Process {
         this.burstTime = burstTime;
         this.remainingTime = burstTime; // Initially, remaining = burst
     }
+
+    public Process(String pid, int arrivalTime, int burstTime, int nice) {
+        this(pid, arrivalTime, burstTime);
+        this.nice = nice;
+    }
 }
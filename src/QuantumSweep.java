@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Round Robin evaluated for every quantum in a range, one ForkJoinPool task per quantum. The
+// metrics of each quantum are always kept; the full schedules are kept as long as their
+// timelines fit in MAX_CACHED_SLICES, so the quantum slider can show them without recomputing.
+// A quantum whose schedule did not fit has result() null and is simulated again when picked;
+// cachedCount() tells how many were kept.
+public final class QuantumSweep {
+    static final long MAX_CACHED_SLICES = 8_000_000; // roughly 100 MB of timeline columns
+    private static final long POLL_MILLIS = 50;
+
+    private final Workload workload;
+    private final int minQuantum;
+    private final ScheduleMetrics[] metrics;
+    private final ScheduleResult[] results; // null where the schedule did not fit the cache
+
+    private QuantumSweep(Workload workload, int minQuantum, ScheduleMetrics[] metrics, ScheduleResult[] results) {
+        this.workload = workload;
+        this.minQuantum = minQuantum;
+        this.metrics = metrics;
+        this.results = results;
+    }
+
+    // Runs RR for every quantum in minQuantum..maxQuantum. Interrupting the calling thread
+    // cancels the sweep.
+    public static QuantumSweep run(Workload workload, int minQuantum, int maxQuantum) {
+        return run(workload, minQuantum, maxQuantum, MAX_CACHED_SLICES);
+    }
+
+    // Same, keeping schedules up to cacheSlices timeline slices in total
+    static QuantumSweep run(Workload workload, int minQuantum, int maxQuantum, long cacheSlices) {
+        if (minQuantum < 1 || maxQuantum < minQuantum) {
+            throw new IllegalArgumentException("Invalid quantum range " + minQuantum + ".." + maxQuantum);
+        }
+        workload.arrivalOrder(); // sort once up front instead of once per worker
+
+        int count = maxQuantum - minQuantum + 1;
+        ScheduleMetrics[] metrics = new ScheduleMetrics[count];
+        ScheduleResult[] results = new ScheduleResult[count];
+        AtomicLong cacheBudget = new AtomicLong(cacheSlices);
+        AtomicInteger done = new AtomicInteger();
+        SimulationProgress cancelToken = new SimulationProgress(); // shared by all workers
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int slot = i;
+            tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                cancelToken.install();
+                try {
+                    SimulationProgress.report(0, 0); // skips quanta not started before a cancel
+                    RoundRobinPolicy policy = new RoundRobinPolicy(minQuantum + slot);
+                    ScheduleResult result = policy.schedule(workload);
+                    metrics[slot] = ScheduleMetrics.of(policy, result);
+                    int slices = result.timeline().size();
+                    if (cacheBudget.addAndGet(-slices) >= 0) {
+                        results[slot] = result;
+                    } else {
+                        cacheBudget.addAndGet(slices); // leave the room for smaller schedules
+                    }
+                    done.incrementAndGet();
+                } finally {
+                    cancelToken.uninstall();
+                }
+            }));
+        }
+
+        try {
+            for (ForkJoinTask<?> task : tasks) {
+                while (true) {
+                    try {
+                        task.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException stillRunning) {
+                        SimulationProgress.report(done.get(), count);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelToken.cancel();
+            throw new CancellationException("Quantum sweep cancelled");
+        } catch (CancellationException e) {
+            cancelToken.cancel();
+            throw e;
+        } catch (ExecutionException e) {
+            cancelToken.cancel();
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+        // The writes above happen-before get() returning, so the arrays are safe to publish
+        return new QuantumSweep(workload, minQuantum, metrics, results);
+    }
+
+    public Workload workload() {
+        return workload;
+    }
+
+    public int minQuantum() {
+        return minQuantum;
+    }
+
+    public int maxQuantum() {
+        return minQuantum + metrics.length - 1;
+    }
+
+    public boolean covers(int timeQuantum) {
+        return timeQuantum >= minQuantum && timeQuantum <= maxQuantum();
+    }
+
+    public ScheduleMetrics metrics(int timeQuantum) {
+        return metrics[timeQuantum - minQuantum];
+    }
+
+    // How many of the swept quanta have their schedule cached
+    public int cachedCount() {
+        int cached = 0;
+        for (ScheduleResult result : results) {
+            if (result != null) {
+                cached++;
+            }
+        }
+        return cached;
+    }
+
+    // The cached schedule for this quantum, or null if it was too big to keep
+    public ScheduleResult result(int timeQuantum) {
+        return covers(timeQuantum) ? results[timeQuantum - minQuantum] : null;
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded LRU of finished schedules and their metrics, so going back to a policy or quantum
+// already shown costs a lookup instead of a simulation. Entries are keyed by the workload's
+// fingerprint and size plus the policy description, which carries every parameter (quantum,
+// CPUs, ...). The owner clears it whenever the process list changes.
+//
+// Not thread-safe; the visualizer only touches it on the Event Dispatch Thread.
+public final class ResultCache {
+    static final int MAX_ENTRIES = 32;
+    static final long MAX_CACHED_SLICES = QuantumSweep.MAX_CACHED_SLICES;
+
+    // A schedule with the metrics computed from it
+    public static final class Entry {
+        final ScheduleResult result;
+        final ScheduleMetrics metrics;
+
+        Entry(ScheduleResult result, ScheduleMetrics metrics) {
+            this.result = result;
+            this.metrics = metrics;
+        }
+
+        long slices() {
+            long slices = 0;
+            for (int cpu = 0; cpu < result.cpuCount(); cpu++) {
+                slices += result.timeline(cpu).size();
+            }
+            return slices;
+        }
+    }
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // access order
+    private long cachedSlices;
+
+    public Entry get(Workload workload, SchedulingPolicy policy) {
+        return entries.get(new Key(workload, policy));
+    }
+
+    // Adds an entry as the most recently used, then evicts from the least recently used end until
+    // both bounds hold again; the newest entry always stays
+    public void put(Workload workload, SchedulingPolicy policy, Entry entry) {
+        Entry replaced = entries.put(new Key(workload, policy), entry);
+        if (replaced != null) {
+            cachedSlices -= replaced.slices();
+        }
+        cachedSlices += entry.slices();
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > 1 && (entries.size() > MAX_ENTRIES || cachedSlices > MAX_CACHED_SLICES)) {
+            cachedSlices -= eldest.next().getValue().slices();
+            eldest.remove();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        cachedSlices = 0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Key {
+        final long fingerprint;
+        final int size;
+        final String policy;
+
+        Key(Workload workload, SchedulingPolicy policy) {
+            this.fingerprint = workload.fingerprint();
+            this.size = workload.size();
+            this.policy = policy.description();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return fingerprint == other.fingerprint && size == other.size && policy.equals(other.policy);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint) * 31 + policy.hashCode();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+import java.util.Arrays;
+
+public final class RoundRobinPolicy implements SchedulingPolicy {
+    private final int timeQuantum;
+
+    public RoundRobinPolicy(int timeQuantum) {
+        if (timeQuantum < 1) {
+            throw new IllegalArgumentException("Time quantum must be at least 1, got " + timeQuantum);
+        }
+        this.timeQuantum = timeQuantum;
+    }
+
+    public int timeQuantum() {
+        return timeQuantum;
+    }
+
+    @Override
+    public String name() {
+        return "Round Robin";
+    }
+
+    @Override
+    public String description() {
+        return name() + " (q=" + timeQuantum + ")";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload workload) {
+        return new Run(this, workload).run();
+    }
+
+    @Override
+    public ScheduleResult reschedule(ScheduleResult previous, Workload workload) {
+        Checkpoint from = previous.resumePoint(this, workload);
+        return from == null ? schedule(workload) : new Run(this, workload, previous, from).run();
+    }
+
+    private static final class Run extends SimulationRun {
+        private final int timeQuantum;
+        private final int[] remainingTimes; // private copy because we will be subtracting from it
+        private final IntRing processQueue;
+        private int[] batch = new int[16];  // scratch for ordering a batch of arrivals
+
+        Run(RoundRobinPolicy policy, Workload workload) {
+            super(policy, workload);
+            timeQuantum = policy.timeQuantum;
+            remainingTimes = initialRemainingTimes();
+            processQueue = new IntRing(n); // a process is queued at most once, so n slots is enough
+        }
+
+        Run(RoundRobinPolicy policy, Workload workload, ScheduleResult previous, Checkpoint from) {
+            super(workload, previous, from);
+            timeQuantum = policy.timeQuantum;
+            remainingTimes = initialRemainingTimes();
+            processQueue = new IntRing(n);
+            for (long entry : from.readyQueue) {
+                processQueue.add(LongHeap.tie(entry));
+                remainingTimes[LongHeap.tie(entry)] = LongHeap.key(entry);
+            }
+        }
+
+        @Override
+        void step() {
+            admitArrivals();
+
+            if (processQueue.isEmpty()) {
+                // CPU is Idle: jump straight to the next arrival
+                currentTime = workload.arrivalTime(arrivalOrder[nextArrival]);
+                return;
+            }
+
+            int idx = processQueue.poll();
+
+            // A process that gets the CPU again right away continues its slice on the timeline
+            int slice = Math.min(timeQuantum, Math.max(remainingTimes[idx], 0));
+            timeline.append(idx, currentTime, currentTime + slice);
+            currentTime += slice;
+            remainingTimes[idx] -= slice;
+
+            if (remainingTimes[idx] <= 0) {
+                // Zero-burst processes end up here without ever holding the CPU
+                remainingTimes[idx] = 0;
+                completionTimes[idx] = currentTime;
+                completed++;
+            } else {
+                // Processes that arrived during the slice queue up ahead of the preempted one
+                admitArrivals();
+                processQueue.add(idx);
+            }
+        }
+
+        // Queues every process that has arrived by currentTime. A batch that arrived within one
+        // slice is queued in entry order.
+        private void admitArrivals() {
+            int batchEnd = nextArrival;
+            while (batchEnd < n && workload.arrivalTime(arrivalOrder[batchEnd]) <= currentTime) {
+                batchEnd++;
+            }
+            int count = batchEnd - nextArrival;
+            if (count == 1) {
+                processQueue.add(arrivalOrder[nextArrival]);
+            } else if (count > 1) {
+                if (batch.length < count) {
+                    batch = new int[Math.max(count, batch.length * 2)];
+                }
+                System.arraycopy(arrivalOrder, nextArrival, batch, 0, count);
+                Arrays.sort(batch, 0, count);
+                for (int i = 0; i < count; i++) {
+                    processQueue.add(batch[i]);
+                }
+            }
+            nextArrival = batchEnd;
+        }
+
+        // The queue in FIFO order as (remaining time, process index)
+        @Override
+        long[] snapshotReadyQueue() {
+            long[] snapshot = new long[processQueue.size()];
+            for (int i = 0; i < snapshot.length; i++) {
+                int idx = processQueue.get(i);
+                snapshot[i] = LongHeap.pack(remainingTimes[idx], idx);
+            }
+            return snapshot;
+        }
+    }
+
+    // Fixed-capacity FIFO of process indices backed by a plain int array
+    private static final class IntRing {
+        private final int[] items;
+        private int head;
+        private int size;
+
+        IntRing(int capacity) {
+            items = new int[Math.max(capacity, 1)];
+        }
+
+        void add(int value) {
+            items[(head + size) % items.length] = value;
+            size++;
+        }
+
+        int poll() {
+            int value = items[head];
+            head = (head + 1) % items.length;
+            size--;
+            return value;
+        }
+
+        // i-th entry from the head
+        int get(int i) {
+            return items[(head + i) % items.length];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+import java.util.BitSet;
+
+// Summary figures for one ScheduleResult, used wherever policies are compared side by side.
+// Response time is how long a process waited before it first got the CPU; a context switch is
+// the CPU moving from one process to a different one.
+//
+// Computed in one pass over the slices (all CPUs merged in time order) and one over the
+// processes. Latencies go into fixed-size histograms, so apart from one bit per process for
+// "has run yet" the memory does not depend on the workload size.
+public final class ScheduleMetrics {
+    private final String policy;
+    private final int processes;
+    private final int makespan;
+    private final Distribution waitingTime;
+    private final Distribution turnaroundTime;
+    private final Distribution responseTime;
+    private final long contextSwitches;
+    private final long busyTime;
+    private final double[] cpuUtilization;
+    private final double loadImbalance;
+
+    // Mean, percentiles and max of one latency over all processes; percentiles are within 1/64
+    // of the true value (see LatencyHistogram), mean and max are exact
+    public static final class Distribution {
+        private final double mean;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long max;
+
+        private Distribution(LatencyHistogram histogram) {
+            mean = histogram.mean();
+            p50 = histogram.percentile(0.50);
+            p90 = histogram.percentile(0.90);
+            p99 = histogram.percentile(0.99);
+            max = histogram.max();
+        }
+
+        public double mean() {
+            return mean;
+        }
+
+        public long p50() {
+            return p50;
+        }
+
+        public long p90() {
+            return p90;
+        }
+
+        public long p99() {
+            return p99;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("mean %.2f, p50 %d, p90 %d, p99 %d, max %d", mean, p50, p90, p99, max);
+        }
+    }
+
+    private ScheduleMetrics(String policy, int processes, int makespan, LatencyHistogram waiting,
+                            LatencyHistogram turnaround, LatencyHistogram response, long contextSwitches,
+                            long busyTime, double[] cpuUtilization) {
+        this.policy = policy;
+        this.processes = processes;
+        this.makespan = makespan;
+        this.waitingTime = new Distribution(waiting);
+        this.turnaroundTime = new Distribution(turnaround);
+        this.responseTime = new Distribution(response);
+        this.contextSwitches = contextSwitches;
+        this.busyTime = busyTime;
+        this.cpuUtilization = cpuUtilization;
+        double max = 0;
+        double sum = 0;
+        for (double u : cpuUtilization) {
+            max = Math.max(max, u);
+            sum += u;
+        }
+        this.loadImbalance = sum == 0 ? 0 : max / (sum / cpuUtilization.length) - 1;
+    }
+
+    public static ScheduleMetrics of(SchedulingPolicy policy, ScheduleResult result) {
+        return of(policy.description(), result);
+    }
+
+    public static ScheduleMetrics of(String policy, ScheduleResult result) {
+        int n = result.size();
+        int cpus = result.cpuCount();
+        int makespan = result.makespan();
+        Workload workload = result.workload();
+        LatencyHistogram response = new LatencyHistogram();
+
+        // Walk the slices of all CPUs in start-time order, so the first slice seen for a process
+        // is its first run. The heap holds each CPU's next slice as (start, cpu).
+        BitSet dispatched = new BitSet(n);
+        int[] cursor = new int[cpus];
+        LongHeap next = new LongHeap(cpus);
+        long contextSwitches = 0;
+        long busyTime = 0;
+        double[] cpuUtilization = new double[cpus];
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            Timeline timeline = result.timeline(cpu);
+            if (!timeline.isEmpty()) {
+                next.add(LongHeap.pack(timeline.startTime(0), cpu));
+            }
+            long busy = timeline.busyTime();
+            busyTime += busy;
+            cpuUtilization[cpu] = makespan == 0 ? 0 : (double) busy / makespan;
+        }
+        while (!next.isEmpty()) {
+            int cpu = LongHeap.tie(next.poll());
+            Timeline timeline = result.timeline(cpu);
+            int s = cursor[cpu]++;
+            int idx = timeline.processIndex(s);
+            if (!dispatched.get(idx)) {
+                dispatched.set(idx);
+                response.record(timeline.startTime(s) - workload.arrivalTime(idx));
+            }
+            if (s > 0 && timeline.processIndex(s - 1) != idx) {
+                contextSwitches++;
+            }
+            if (s + 1 < timeline.size()) {
+                next.add(LongHeap.pack(timeline.startTime(s + 1), cpu));
+            }
+        }
+
+        LatencyHistogram waiting = new LatencyHistogram();
+        LatencyHistogram turnaround = new LatencyHistogram();
+        for (int i = 0; i < n; i++) {
+            waiting.record(result.waitingTime(i));
+            turnaround.record(result.turnAroundTime(i));
+            if (!dispatched.get(i)) {
+                // Zero-burst processes never get a slice; they respond when they complete
+                response.record(result.turnAroundTime(i));
+            }
+        }
+        return new ScheduleMetrics(policy, n, makespan, waiting, turnaround, response, contextSwitches,
+                busyTime, cpuUtilization);
+    }
+
+    public String policy() {
+        return policy;
+    }
+
+    public int processes() {
+        return processes;
+    }
+
+    public int makespan() {
+        return makespan;
+    }
+
+    public Distribution waitingTime() {
+        return waitingTime;
+    }
+
+    public Distribution turnaroundTime() {
+        return turnaroundTime;
+    }
+
+    public Distribution responseTime() {
+        return responseTime;
+    }
+
+    public double averageWaitingTime() {
+        return waitingTime.mean();
+    }
+
+    public double averageTurnaroundTime() {
+        return turnaroundTime.mean();
+    }
+
+    public double averageResponseTime() {
+        return responseTime.mean();
+    }
+
+    public long contextSwitches() {
+        return contextSwitches;
+    }
+
+    // CPU time spent running processes, summed over all CPUs
+    public long busyTime() {
+        return busyTime;
+    }
+
+    // CPU time from 0 to the makespan with nothing to run, summed over all CPUs
+    public long idleTime() {
+        return (long) makespan * cpuCount() - busyTime;
+    }
+
+    // Busy share of the makespan over all CPUs, 0..1 (0 for an empty schedule)
+    public double cpuUtilization() {
+        return makespan == 0 ? 0 : (double) busyTime / ((long) makespan * cpuCount());
+    }
+
+    // Completed processes per time unit
+    public double throughput() {
+        return makespan == 0 ? 0 : (double) processes / makespan;
+    }
+
+    public int cpuCount() {
+        return cpuUtilization.length;
+    }
+
+    // Busy share of the makespan for one CPU, 0..1
+    public double cpuUtilization(int cpu) {
+        return cpuUtilization[cpu];
+    }
+
+    // How far the busiest CPU is above the average: 0 when the work is spread evenly
+    public double loadImbalance() {
+        return loadImbalance;
+    }
+
+    // Multi-line report, as the CLI prints it
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Processes:          %d%n", processes));
+        report.append(String.format("Waiting Time:       %s%n", waitingTime));
+        report.append(String.format("Turnaround Time:    %s%n", turnaroundTime));
+        report.append(String.format("Response Time:      %s%n", responseTime));
+        report.append(String.format("CPU Utilization:    %.1f%%", cpuUtilization() * 100));
+        if (cpuCount() > 1) {
+            report.append(String.format(" over %d CPUs (imbalance %.1f%%)", cpuCount(), loadImbalance * 100));
+        }
+        report.append(String.format("%nIdle Time:          %d%n", idleTime()));
+        report.append(String.format("Throughput:         %.4f per time unit%n", throughput()));
+        report.append(String.format("Context Switches:   %d%n", contextSwitches));
+        report.append(String.format("Makespan:           %d%n", makespan));
+        return report.toString();
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.Arrays;
+import java.util.List;
+
+// What a SchedulingPolicy produced for one Workload: the Gantt timeline plus per-process metrics,
+// kept as int columns indexed the same way as the workload. It also carries the checkpoints the
+// policy took on the way, so SchedulingPolicy.reschedule() can extend it without starting over.
+// A multi-CPU schedule has one timeline per CPU; timeline() is then the first CPU's.
+public final class ScheduleResult {
+    private final Workload workload;
+    private final Timeline[] timelines;
+    private final int[] completionTimes; // may be longer than the workload when shared (see Workload.append)
+    private final CheckpointLog checkpoints;
+    private boolean completionsExtended; // guarded by this
+    private volatile int[] firstRunTimes; // computed on first use
+
+    // Takes ownership of completionTimes
+    ScheduleResult(Workload workload, Timeline timeline, int[] completionTimes, CheckpointLog checkpoints) {
+        this(workload, new Timeline[]{timeline}, completionTimes, checkpoints);
+    }
+
+    // One timeline per CPU
+    ScheduleResult(Workload workload, Timeline[] timelines, int[] completionTimes, CheckpointLog checkpoints) {
+        this.workload = workload;
+        this.timelines = timelines;
+        this.completionTimes = completionTimes;
+        this.checkpoints = checkpoints;
+    }
+
+    public Workload workload() {
+        return workload;
+    }
+
+    public Timeline timeline() {
+        return timelines[0];
+    }
+
+    public int cpuCount() {
+        return timelines.length;
+    }
+
+    public Timeline timeline(int cpu) {
+        return timelines[cpu];
+    }
+
+    // Latest end over all CPUs
+    public int makespan() {
+        int makespan = 0;
+        for (Timeline t : timelines) {
+            makespan = Math.max(makespan, t.makespan());
+        }
+        return makespan;
+    }
+
+    public int size() {
+        return workload.size();
+    }
+
+    public int completionTime(int i) {
+        return completionTimes[i];
+    }
+
+    // Turnaround Time = Completion - Arrival
+    public int turnAroundTime(int i) {
+        return completionTimes[i] - workload.arrivalTime(i);
+    }
+
+    // Waiting Time = Turnaround - Burst
+    public int waitingTime(int i) {
+        return turnAroundTime(i) - workload.burstTime(i);
+    }
+
+    // One slice of the timeline with its display PID, for printing small schedules
+    public GanttBlock block(int slice) {
+        Timeline timeline = timelines[0];
+        return new GanttBlock(workload.pid(timeline.processIndex(slice)), timeline.startTime(slice), timeline.endTime(slice));
+    }
+
+    // Copies the metrics onto the Process objects the workload was built from (same order)
+    public void applyTo(List<Process> processes) {
+        for (int i = 0; i < size(); i++) {
+            Process p = processes.get(i);
+            p.remainingTime = 0;
+            p.completionTime = completionTimes[i];
+            p.turnAroundTime = turnAroundTime(i);
+            p.waitingTime = waitingTime(i);
+            p.firstRunTime = firstRunTime(i);
+            p.responseTime = responseTime(i);
+        }
+    }
+
+    // Start of the process's first slice on any CPU; zero-burst processes never get one and
+    // count as running when they complete. The first call costs one pass over the slices.
+    public int firstRunTime(int i) {
+        int[] times = firstRunTimes;
+        if (times == null) {
+            times = computeFirstRunTimes();
+            firstRunTimes = times;
+        }
+        return times[i];
+    }
+
+    public int responseTime(int i) {
+        return firstRunTime(i) - workload.arrivalTime(i);
+    }
+
+    private int[] computeFirstRunTimes() {
+        int n = size();
+        int[] firstRunTimes = Arrays.copyOf(completionTimes, n);
+        for (Timeline timeline : timelines) {
+            for (int s = timeline.size() - 1; s >= 0; s--) {
+                int idx = timeline.processIndex(s);
+                firstRunTimes[idx] = Math.min(firstRunTimes[idx], timeline.startTime(s));
+            }
+        }
+        return firstRunTimes;
+    }
+
+    CheckpointLog checkpoints() {
+        return checkpoints;
+    }
+
+    // The checkpoint 'policy' can resume from to schedule 'extended', or null if it has to start
+    // over: the checkpoints were written by another policy, 'extended' is not this workload with
+    // processes appended, or the new processes arrive before any usable checkpoint.
+    Checkpoint resumePoint(SchedulingPolicy policy, Workload extended) {
+        if (checkpoints == null || !checkpoints.owner().equals(policy.description())
+                || extended.size() <= size() || !extended.startsWith(workload)) {
+            return null;
+        }
+        return checkpoints.latestValidFor(extended.minArrivalFrom(size()));
+    }
+
+    // Completion-time column for a run resuming from 'from' over n processes. A run continuing
+    // from the very end only writes new entries, so it may share this column.
+    int[] completionTimesFrom(Checkpoint from, int n) {
+        if (from.completed == size() && n <= completionTimes.length && claimCompletions()) {
+            return completionTimes;
+        }
+        return Arrays.copyOf(completionTimes, Math.max(n, size() + (size() >> 1) + 16));
+    }
+
+    private synchronized boolean claimCompletions() {
+        boolean free = !completionsExtended;
+        completionsExtended = true;
+        return free;
+    }
+}
@@ -0,0 +1,274 @@
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+// Per-process table read straight from a ScheduleResult's columns. JTable only asks for the
+// visible cells, so only those are ever boxed, whatever the number of processes. A new result
+// for the same (or an appended) workload fires updates only for the rows whose figures changed.
+//
+// Sorting keeps a permutation of row indices next to the result instead of reordering any data;
+// clicking a header cycles ascending, descending and unsorted. A background job can build the
+// permutation for its result ahead of time (see Sorting), so a refresh has nothing to sort on the EDT.
+public class ScheduleTableModel extends AbstractTableModel {
+    static final int PID = 0;
+    private static final String[] COLUMNS = {"Process ID", "Arrival Time", "Burst Time", "Completion Time",
+            "Turnaround Time", "Waiting Time", "Response Time"};
+
+    private ScheduleResult result;
+    private int[] viewToModel; // null while unsorted
+    private int sortColumn = -1;
+    private boolean descending;
+
+    public void setResult(ScheduleResult newResult) {
+        setResult(newResult, null);
+    }
+
+    // Same, taking the row order from 'sorting' when it was prepared for this result and the sort
+    // has not changed since
+    public void setResult(ScheduleResult newResult, Sorting sorting) {
+        ScheduleResult old = result;
+        result = newResult;
+        if (sortColumn >= 0) {
+            if (sorting != null && sorting.result == newResult && sorting.column == sortColumn
+                    && sorting.descending == descending) {
+                viewToModel = sorting.viewToModel;
+            } else {
+                viewToModel = order(newResult, sortColumn, descending);
+            }
+            fireTableDataChanged(); // rows may have moved
+            return;
+        }
+        if (old == null || !newResult.workload().startsWith(old.workload())) {
+            fireTableDataChanged();
+            return;
+        }
+        // Same processes so far: repaint just the rows whose schedule changed, in runs
+        int common = old.size();
+        int runStart = -1;
+        for (int i = 0; i < common; i++) {
+            boolean changed = old.completionTime(i) != newResult.completionTime(i)
+                    || old.firstRunTime(i) != newResult.firstRunTime(i);
+            if (changed && runStart < 0) {
+                runStart = i;
+            } else if (!changed && runStart >= 0) {
+                fireTableRowsUpdated(runStart, i - 1);
+                runStart = -1;
+            }
+        }
+        if (runStart >= 0) {
+            fireTableRowsUpdated(runStart, common - 1);
+        }
+        if (newResult.size() > common) {
+            fireTableRowsInserted(common, newResult.size() - 1);
+        }
+    }
+
+    // Next sort state for a header click: ascending, then descending, then back to unsorted
+    public void sortBy(int column) {
+        if (column != sortColumn) {
+            sortColumn = column;
+            descending = false;
+        } else if (!descending) {
+            descending = true;
+        } else {
+            sortColumn = -1;
+        }
+        viewToModel = sortColumn >= 0 ? order(result, sortColumn, descending) : null;
+        fireTableDataChanged();
+    }
+
+    // The sort in effect now, to be prepared for a result on a background thread
+    public Sorting sorting() {
+        return new Sorting(sortColumn, descending);
+    }
+
+    public int sortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    // Process index shown in a view row
+    public int modelIndex(int row) {
+        return viewToModel == null ? row : viewToModel[row];
+    }
+
+    @Override
+    public int getRowCount() {
+        return result == null ? 0 : result.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == PID ? String.class : Integer.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int i = modelIndex(row);
+        if (column == PID) {
+            return result.workload().pid(i);
+        }
+        return valueOf(result, i, column);
+    }
+
+    private static int valueOf(ScheduleResult result, int i, int column) {
+        switch (column) {
+            case 1:
+                return result.workload().arrivalTime(i);
+            case 2:
+                return result.workload().burstTime(i);
+            case 3:
+                return result.completionTime(i);
+            case 4:
+                return result.turnAroundTime(i);
+            case 5:
+                return result.waitingTime(i);
+            default:
+                return result.responseTime(i);
+        }
+    }
+
+    // A sort captured on the EDT whose row order prepare() works out on the thread that built the
+    // result; setResult() adopts it if the user has not picked another sort in the meantime
+    public static final class Sorting {
+        private final int column;
+        private final boolean descending;
+        private ScheduleResult result;
+        private int[] viewToModel;
+
+        private Sorting(int column, boolean descending) {
+            this.column = column;
+            this.descending = descending;
+        }
+
+        public void prepare(ScheduleResult result) {
+            if (column >= 0) {
+                viewToModel = order(result, column, descending);
+            }
+            this.result = result;
+        }
+    }
+
+    // Row order for a column. Numeric columns pack (value, index) into longs and use a primitive
+    // sort, so ties stay in process order. Default PIDs ("P" + index + 1) are already in order,
+    // so only workloads with their own PIDs compare names, in natural order (P2 before P10).
+    private static int[] order(ScheduleResult result, int column, boolean descending) {
+        int n = result.size();
+        Workload workload = result.workload();
+        int[] order = new int[n];
+        if (column == PID) {
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            if (workload.hasPids()) {
+                mergeSort(order, new int[n], 0, n, (a, b) -> comparePids(workload.pid(a), workload.pid(b)));
+            }
+        } else {
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = LongHeap.pack(valueOf(result, i, column), i);
+            }
+            Arrays.parallelSort(keys);
+            for (int i = 0; i < n; i++) {
+                order[i] = LongHeap.tie(keys[i]);
+            }
+        }
+        if (descending) {
+            for (int lo = 0, hi = n - 1; lo < hi; lo++, hi--) {
+                int swap = order[lo];
+                order[lo] = order[hi];
+                order[hi] = swap;
+            }
+        }
+        return order;
+    }
+
+    // Natural order: runs of digits compare by value, everything else character by character
+    static int comparePids(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (isDigit(ca) && isDigit(cb)) {
+                int startA = skipZeros(a, i);
+                int startB = skipZeros(b, j);
+                int endA = digitsEnd(a, startA);
+                int endB = digitsEnd(b, startB);
+                if (endA - startA != endB - startB) {
+                    return (endA - startA) - (endB - startB); // more significant digits is bigger
+                }
+                for (int k = 0; k < endA - startA; k++) {
+                    if (a.charAt(startA + k) != b.charAt(startB + k)) {
+                        return a.charAt(startA + k) - b.charAt(startB + k);
+                    }
+                }
+                i = endA;
+                j = endB;
+            } else if (ca != cb) {
+                return ca - cb;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        if (a.length() - i != b.length() - j) {
+            return (a.length() - i) - (b.length() - j);
+        }
+        return a.compareTo(b); // equal by value, e.g. P01 and P1: any fixed order will do
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int skipZeros(String s, int i) {
+        while (i < s.length() - 1 && s.charAt(i) == '0' && isDigit(s.charAt(i + 1))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int digitsEnd(String s, int i) {
+        while (i < s.length() && isDigit(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // Stable merge sort of process indices, so there is no boxing even for the string column
+    private static void mergeSort(int[] items, int[] scratch, int from, int to, IntBinaryOperator compare) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(items, scratch, from, mid, compare);
+        mergeSort(items, scratch, mid, to, compare);
+        if (compare.applyAsInt(items[mid - 1], items[mid]) <= 0) {
+            return; // already in order
+        }
+        System.arraycopy(items, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int k = from; k < to; k++) {
+            if (right >= to || (left < mid && compare.applyAsInt(scratch[left], scratch[right]) <= 0)) {
+                items[k] = scratch[left++];
+            } else {
+                items[k] = scratch[right++];
+            }
+        }
+    }
+}
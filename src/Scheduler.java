@@ -1,10 +1,40 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 import java.util.Collections;
 import java.util.Comparator;
 
 public class Scheduler {
+    private static final String USAGE = "Usage: java Scheduler                                 (enter processes interactively)\n"
+            + "       java Scheduler <trace> [FCFS|SJF|SRTF|RR|CFS] [quantum] (CSV or binary trace)\n"
+            + "       java Scheduler --convert <trace> <out.bin>           (write a binary trace)\n"
+            + "       java Scheduler --stream <trace.csv|-> [policy] [quantum] (online, bounded memory)\n"
+            + "       java Scheduler --log <trace> <out.evl> [policy] [quantum] (write a binary event log)\n"
+            + "       java Scheduler --log-csv <log.evl> <out.csv>         (convert an event log to CSV)\n"
+            + "       java Scheduler --generate <count> <out.csv|out.bin> [seed=1] [arrivals=poisson|bursty] [gap=4]\n"
+            + "                      [bursts=exponential|pareto|bimodal] [burst=3] (synthetic trace)\n"
+            + "       java Scheduler --batch <trace-dir> <out.csv|out.json|-> [FCFS SJF SRTF RR:4 CFS ...] [cpus=N]\n"
+            + "                      (every trace through every policy, in parallel)";
+    private static final long STREAM_REPORT_NANOS = 1_000_000_000L;
+
     public static void main(String[] args) {
+        if (args.length > 0) {
+            try {
+                runTrace(args);
+            } catch (IOException e) {
+                System.err.println("Cannot read trace: " + e.getMessage());
+                System.exit(1);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage()); // e.g. a policy without a streaming mode
+                System.exit(2);
+            }
+            return;
+        }
         Scanner scanner = new Scanner(System.in);
         int n;
 
@@ -41,6 +71,224 @@ public class Scheduler {
         scanner.close();
     }
 
+    // Batch mode for large traces: loads the file, schedules it once and prints a summary
+    private static void runTrace(String[] args) throws IOException {
+        if (args[0].equals("--convert")) {
+            if (args.length != 3) {
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+            Workload workload = TraceFile.read(Path.of(args[1]));
+            TraceFile.writeBinary(workload, Path.of(args[2]));
+            System.out.println("Wrote " + workload.size() + " processes to " + args[2]);
+            return;
+        }
+        if (args[0].equals("--stream") && args.length >= 2 && args.length <= 4) {
+            runStream(args);
+            return;
+        }
+        if (args[0].equals("--log") && args.length >= 3 && args.length <= 5) {
+            writeLog(args);
+            return;
+        }
+        if (args[0].equals("--batch") && args.length >= 3) {
+            runBatch(args);
+            return;
+        }
+        if (args[0].equals("--generate") && args.length >= 3) {
+            generate(args);
+            return;
+        }
+        if (args[0].equals("--log-csv") && args.length == 3) {
+            EventLog log = EventLog.open(Path.of(args[1]));
+            log.writeCsv(Path.of(args[2]));
+            System.out.println("Wrote " + log.size() + " events to " + args[2]);
+            return;
+        }
+        if (args[0].startsWith("-") || args.length > 3) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        String policyName = args.length > 1 ? args[1].toUpperCase() : "FCFS";
+        int quantum = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        SchedulingPolicy policy = policyFor(policyName, quantum);
+        if (policy == null) {
+            System.err.println("Unknown policy " + args[1] + "\n" + USAGE);
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        Workload workload = TraceFile.read(Path.of(args[0]));
+        long loaded = System.nanoTime();
+        ScheduleResult result = policy.schedule(workload);
+        long scheduled = System.nanoTime();
+
+        ScheduleMetrics metrics = ScheduleMetrics.of(policy, result);
+        System.out.printf("Loaded %d processes in %.1f ms%n", workload.size(), (loaded - start) / 1e6);
+        System.out.printf("%s scheduled in %.1f ms (%d slices)%n", policy.description(), (scheduled - loaded) / 1e6, result.timeline().size());
+        System.out.printf("%n%s", metrics.report());
+    }
+
+    // Schedules a trace file with one policy and returns the figures instead of printing them
+    public static ScheduleMetrics analyze(Path trace, SchedulingPolicy policy) throws IOException {
+        return ScheduleMetrics.of(policy, policy.schedule(TraceFile.read(trace)));
+    }
+
+    // Schedules records as they are read, e.g. "tail -f jobs.csv | java Scheduler --stream - RR 4",
+    // printing the running metrics about once a second
+    private static void runStream(String[] args) throws IOException {
+        SchedulingPolicy policy = policyFor(args.length > 2 ? args[2].toUpperCase() : "FCFS",
+                args.length > 3 ? Integer.parseInt(args[3]) : 2);
+        if (policy == null) {
+            System.err.println("Unknown policy " + args[2] + "\n" + USAGE);
+            System.exit(2);
+        }
+        StreamingScheduler scheduler = StreamingScheduler.of(policy);
+        long[] lastReport = {System.nanoTime()};
+        try (InputStream in = args[1].equals("-") ? System.in : Files.newInputStream(Path.of(args[1]))) {
+            TraceFile.stream(in, args[1], (arrival, burst) -> {
+                scheduler.offer(arrival, burst);
+                long now = System.nanoTime();
+                if (now - lastReport[0] >= STREAM_REPORT_NANOS) {
+                    System.out.println(scheduler.stats().summaryLine());
+                    lastReport[0] = now;
+                }
+            });
+        }
+        scheduler.finish();
+        System.out.println(scheduler.stats().summaryLine());
+    }
+
+    // Schedules a trace once and saves every arrival, dispatch, preemption and completion, so the
+    // schedule can be reopened in the visualizer or converted without running the policy again
+    private static void writeLog(String[] args) throws IOException {
+        SchedulingPolicy policy = policyFor(args.length > 3 ? args[3].toUpperCase() : "FCFS",
+                args.length > 4 ? Integer.parseInt(args[4]) : 2);
+        if (policy == null) {
+            System.err.println("Unknown policy " + args[3] + "\n" + USAGE);
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        ScheduleResult result = policy.schedule(TraceFile.read(Path.of(args[1])));
+        long scheduled = System.nanoTime();
+        EventLog.write(result, policy.description(), Path.of(args[2]));
+        long written = System.nanoTime();
+        System.out.printf("%s scheduled %d processes in %.1f ms%n", policy.description(), result.size(), (scheduled - start) / 1e6);
+        System.out.printf("Event log written to %s in %.1f ms%n", args[2], (written - scheduled) / 1e6);
+    }
+
+    // Nightly regression mode: a summary row per trace and policy, figures only, no prompts. Exits
+    // with status 1 if any row is an error.
+    private static void runBatch(String[] args) throws IOException {
+        List<SchedulingPolicy> policies = new ArrayList<>();
+        int cpus = 1;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].startsWith("cpus=")) {
+                cpus = Integer.parseInt(args[i].substring(5));
+                continue;
+            }
+            String[] parts = args[i].split(":", 2);
+            SchedulingPolicy policy = policyFor(parts[0].toUpperCase(), parts.length > 1 ? Integer.parseInt(parts[1]) : 2);
+            if (policy == null) {
+                throw new IllegalArgumentException("Unknown policy " + args[i] + "\n" + USAGE);
+            }
+            policies.add(policy);
+        }
+        if (policies.isEmpty()) {
+            policies.addAll(PolicyComparison.allPolicies(2));
+        }
+        if (cpus > 1) {
+            for (int i = 0; i < policies.size(); i++) {
+                if (MultiCpuPolicy.supports(policies.get(i))) {
+                    policies.set(i, new MultiCpuPolicy(policies.get(i), cpus, false, 0));
+                }
+            }
+        }
+
+        Path output = args[2].equals("-") ? null : Path.of(args[2]);
+        List<Path> traces = BatchRunner.tracesIn(Path.of(args[1]), output);
+        BatchRunner.Format format = args[2].endsWith(".json") ? BatchRunner.Format.JSON : BatchRunner.Format.CSV;
+        BatchRunner batch = new BatchRunner(traces, policies, format, Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        int failures;
+        try (Writer out = BatchRunner.open(args[2])) {
+            failures = batch.run(out);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch interrupted", e);
+        }
+        // The summary may be on standard output, so the totals go to standard error
+        System.err.printf("%d traces x %d policies in %.1f ms, %d failed%n", traces.size(), policies.size(),
+                (System.nanoTime() - start) / 1e6, failures);
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Writes a synthetic trace; the same options always give the same file. Traces have no nice
+    // column, so nice values are only generated from the visualizer.
+    private static void generate(String[] args) throws IOException {
+        int count = Integer.parseInt(args[1]);
+        long seed = 1;
+        WorkloadGenerator.Arrivals arrivals = WorkloadGenerator.Arrivals.POISSON;
+        double gap = 4;
+        WorkloadGenerator.Bursts bursts = WorkloadGenerator.Bursts.EXPONENTIAL;
+        double burst = 3;
+        for (int i = 3; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            String key = eq < 0 ? args[i] : args[i].substring(0, eq);
+            String value = eq < 0 ? "" : args[i].substring(eq + 1);
+            switch (key) {
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "arrivals":
+                    arrivals = WorkloadGenerator.Arrivals.valueOf(value.toUpperCase());
+                    break;
+                case "gap":
+                    gap = Double.parseDouble(value);
+                    break;
+                case "bursts":
+                    bursts = WorkloadGenerator.Bursts.valueOf(value.toUpperCase());
+                    break;
+                case "burst":
+                    burst = Double.parseDouble(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i] + "\n" + USAGE);
+            }
+        }
+        WorkloadGenerator generator = new WorkloadGenerator(seed, arrivals, gap, bursts, burst, 0);
+        long start = System.nanoTime();
+        Workload workload = generator.generate(count);
+        long generated = System.nanoTime();
+        Path out = Path.of(args[2]);
+        if (args[2].endsWith(".csv")) {
+            TraceFile.writeCsv(workload, out);
+        } else {
+            TraceFile.writeBinary(workload, out);
+        }
+        System.out.printf("Generated %d processes (%s) in %.1f ms%n", count, generator.description(), (generated - start) / 1e6);
+        System.out.println("Wrote " + args[2]);
+    }
+
+    private static SchedulingPolicy policyFor(String name, int quantum) {
+        switch (name) {
+            case "FCFS":
+                return new FcfsPolicy();
+            case "SJF":
+                return new SjfPolicy();
+            case "SRTF":
+                return new SrtfPolicy();
+            case "RR":
+                return new RoundRobinPolicy(quantum);
+            case "CFS":
+                return new CfsPolicy();
+            default:
+                return null;
+        }
+    }
+
     public static void runFCFS(ArrayList<Process> processes) {
         if(processes.isEmpty()){
             return;
@@ -48,36 +296,23 @@ public class Scheduler {
         // --- 1. Sort the processes by Arrival Time ---
         Collections.sort(processes, Comparator.comparingInt(p -> p.arrivalTime));
 
-        int currentTime = 0;
-        double totalTurnaroundTime = 0;
-        double totalWaitingTime = 0;
+        // --- 2. Schedule (idle gaps and non-preemptive runs are handled by the policy) ---
+        ScheduleResult result = new FcfsPolicy().schedule(Workload.of(processes));
+        result.applyTo(processes);
 
+        // --- 3. Visual Gantt chart, Idle where the CPU waits for the next arrival ---
+        // One line per process in run order (the sorted list), zero-burst ones included: the
+        // timeline drops their empty slices, so each run is rebuilt from its completion time
         System.out.println("\n--- FCFS Scheduling ---");
         System.out.println("Gantt Chart (simulation):");
 
+        int currentTime = 0;
         for (Process p : processes) {
-
-            // --- 2. Handle CPU Idle Time ---
-            if (currentTime < p.arrivalTime) {
-                System.out.println(currentTime + " --[IDLE]-- " + p.arrivalTime);
-                currentTime = p.arrivalTime;
+            int start = p.completionTime - p.burstTime;
+            if (currentTime < start) {
+                System.out.println(currentTime + " --[IDLE]-- " + start);
             }
-
-            // --- 3. Run the Process (Non-Preemptive) ---
-            // The process starts running at 'currentTime'.
-            // It will finish at 'currentTime + burstTime' as it's non-preemptive.
-
-            p.completionTime = currentTime + p.burstTime;
-            p.turnAroundTime = p.completionTime - p.arrivalTime;
-            p.waitingTime = p.turnAroundTime - p.burstTime;
-
-            // Update totals
-            totalTurnaroundTime += p.turnAroundTime;
-            totalWaitingTime += p.waitingTime;
-
-            // visual Gantt chart
-            System.out.println(currentTime + " --[" + p.pid + "]-- " + p.completionTime);
-
+            System.out.println(start + " --[" + p.pid + "]-- " + p.completionTime);
             currentTime = p.completionTime;
         }
 
@@ -93,6 +328,12 @@ public class Scheduler {
         }
 
         // --- 5. Calculate and Display Averages ---
+        double totalTurnaroundTime = 0;
+        double totalWaitingTime = 0;
+        for (Process p : processes) {
+            totalTurnaroundTime += p.turnAroundTime;
+            totalWaitingTime += p.waitingTime;
+        }
         int n = processes.size();
         double avgTurnaroundTime = totalTurnaroundTime / n;
         double avgWaitingTime = totalWaitingTime / n;
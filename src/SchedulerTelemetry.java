@@ -0,0 +1,191 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.lang.management.ManagementFactory;
+
+// Where simulation time goes, as JDK Flight Recorder events plus the latest figures for the
+// visualizer's status panel. Every policy run, refreshUI() and Gantt paint is one event, so a
+// recording ("java -XX:StartFlightRecording ...") shows them next to GC and allocation data;
+// without a recording the events cost a couple of field writes.
+//
+// The live figures are last-writer-wins: with several runs at once (Compare All, sweeps) the
+// panel shows whichever finished last.
+public final class SchedulerTelemetry {
+    // Policies sample the runnable count every SAMPLE_INTERVAL loop iterations
+    static final int SAMPLE_INTERVAL = 64;
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private static volatile String lastPolicy;
+    private static volatile long lastRunNanos;
+    private static volatile long lastSteps;
+    private static volatile int lastPeakRunnable;
+    private static volatile long lastAllocatedBytes; // -1 if the JVM cannot measure it
+    private static volatile long lastRefreshNanos;
+    private static volatile long lastPaintNanos;
+    private static volatile long paints;
+
+    private SchedulerTelemetry() {
+    }
+
+    @Name("scheduler.SimulationRun")
+    @Label("Simulation Run")
+    @Category("Process Scheduler")
+    @Description("One policy scheduling one workload")
+    @StackTrace(false)
+    static final class RunEvent extends Event {
+        @Label("Policy")
+        String policy;
+        @Label("Processes")
+        int processes;
+        @Label("Events Processed")
+        @Description("Iterations of the policy's event loop")
+        long steps;
+        @Label("Slices")
+        long slices;
+        @Label("Peak Runnable")
+        @Description("Most processes arrived but not completed at any sample")
+        int peakRunnable;
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+    }
+
+    @Name("scheduler.RefreshUI")
+    @Label("Refresh UI")
+    @Category("Process Scheduler")
+    @StackTrace(false)
+    static final class RefreshEvent extends Event {
+        @Label("Processes")
+        int processes;
+        transient long startNanos; // transient fields are not recorded
+    }
+
+    @Name("scheduler.GanttPaint")
+    @Label("Gantt Paint")
+    @Category("Process Scheduler")
+    @StackTrace(false)
+    static final class PaintEvent extends Event {
+        @Label("CPUs")
+        int cpus;
+        @Label("Width")
+        int width;
+        transient long startNanos;
+    }
+
+    // Measures one policy run, from before it allocates its state to its result; the policy
+    // samples the runnable count while it goes
+    static final class Run {
+        private final RunEvent event = new RunEvent();
+        private final long startNanos = System.nanoTime();
+        private final long startAllocated = allocatedBytes();
+        private int peakRunnable;
+
+        private Run() {
+            event.begin();
+        }
+
+        void sampleRunnable(int runnable) {
+            if (runnable > peakRunnable) {
+                peakRunnable = runnable;
+            }
+        }
+
+        void end(String policy, int processes, long steps, long slices) {
+            event.end();
+            long allocated = startAllocated < 0 ? -1 : allocatedBytes() - startAllocated;
+            lastPolicy = policy;
+            lastRunNanos = System.nanoTime() - startNanos;
+            lastSteps = steps;
+            lastPeakRunnable = peakRunnable;
+            lastAllocatedBytes = allocated;
+            if (event.shouldCommit()) {
+                event.policy = policy;
+                event.processes = processes;
+                event.steps = steps;
+                event.slices = slices;
+                event.peakRunnable = peakRunnable;
+                event.allocatedBytes = allocated;
+                event.commit();
+            }
+        }
+    }
+
+    static Run startRun() {
+        return new Run();
+    }
+
+    static RefreshEvent startRefresh(int processes) {
+        RefreshEvent event = new RefreshEvent();
+        event.processes = processes;
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    static void endRefresh(RefreshEvent event) {
+        lastRefreshNanos = System.nanoTime() - event.startNanos;
+        event.commit();
+    }
+
+    static PaintEvent startPaint(int cpus, int width) {
+        PaintEvent event = new PaintEvent();
+        event.cpus = cpus;
+        event.width = width;
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    static void endPaint(PaintEvent event) {
+        lastPaintNanos = System.nanoTime() - event.startNanos;
+        paints++; // only painted on the EDT
+        event.commit();
+    }
+
+    // One line for the status panel, e.g. "SRTF: 85.2 ms, 12.3M events/s, peak 5120 runnable, ..."
+    public static String summary() {
+        StringBuilder line = new StringBuilder();
+        if (lastPolicy == null) {
+            line.append("No runs yet");
+        } else {
+            long nanos = Math.max(lastRunNanos, 1);
+            line.append(String.format("%s: %.1f ms, %s events/s, peak %d runnable", lastPolicy, nanos / 1e6,
+                    compact(lastSteps * 1e9 / nanos), lastPeakRunnable));
+            if (lastAllocatedBytes >= 0) {
+                line.append(String.format(", %.1f MB allocated", lastAllocatedBytes / 1e6));
+            }
+        }
+        line.append(String.format(" | refresh %.2f ms | paint %.2f ms (%d paints)", lastRefreshNanos / 1e6,
+                lastPaintNanos / 1e6, paints));
+        return line.toString();
+    }
+
+    private static String compact(double value) {
+        if (value >= 1e6) {
+            return String.format("%.1fM", value / 1e6);
+        }
+        return value >= 1e3 ? String.format("%.1fk", value / 1e3) : String.format("%.0f", value);
+    }
+
+    // Bytes allocated so far by the calling thread, or -1 if the JVM does not track it
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+            if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                return counter;
+            }
+        }
+        return null;
+    }
+}
@@ -1,16 +1,43 @@
 import javax.swing.*;
 import java.awt.*;
 import java.util.*;
-import java.util.List;
-import javax.swing.table.DefaultTableModel;
-import java.util.Queue;
+import javax.swing.Timer;
+import javax.swing.table.TableColumn;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 public class SchedulerVisualizer extends JFrame {
-
-    private List<Process> processList;
-    private List<Process> currentTimeLine;
-    private DefaultTableModel tableModel; // Keep this to update the table
+    private static final int SWEEP_MAX_QUANTUM = 1000;
+    private static final int MAX_CPUS = 64;
+    private static final int MAX_GANTT_HEIGHT = 400;
+
+    private Workload workload; // the processes entered or loaded, extended as processes are added
+    private ScheduleResult currentResult;
+    private ScheduleMetrics currentMetrics;
+    private final ResultCache resultCache = new ResultCache(); // schedules of the current process list
+    private ScheduleTableModel tableModel; // Keep this to update the table
     private JLabel statsLabel;
+    private GanttPanel ganttPanel;
+    private JProgressBar progressBar;
+    private final SimulationRunner runner = new SimulationRunner();
+    private final SimulationRunner sweepRunner = new SimulationRunner(); // simulations must not cancel a sweep
+    private int tasksRunning;                // file, generation and index jobs, see runTask()
+    private final Timer progressTimer = new Timer(50, e -> updateProgress()); // polls the running simulation
+    private JLabel telemetryLabel;            // engine and paint timings, see SchedulerTelemetry
+    private ComparisonFrame comparisonFrame; // created on first "Compare All"
+    private QuantumSweep quantumSweep;       // last RR sweep, only valid for the workload it ran on
+    private JFrame sweepFrame;
+    private SweepPlotPanel sweepPlot;
+    private JLabel sweepStatus;
+    private JSpinner cpuSpinner;             // multi-CPU settings, applied by withCpus()
+    private JComboBox<String> queueSelector;
+    private JSpinner migrationSpinner;
+    private JSpinner latencySpinner;         // CFS settings, applied by policyFor()
+    private JSpinner granularitySpinner;
 
     private SchedulerVisualizer() {
         setTitle("OS Process Scheduler Visualizer");
@@ -19,38 +46,54 @@ public class SchedulerVisualizer extends JFrame {
         setLayout(new BorderLayout()); // Using BorderLayout for structure
 
         // 1. Data Setup
-        processList = new ArrayList<>(Arrays.asList(
-                new Process("P1", 0, 8),
-                new Process("P2", 1, 4),
-                new Process("P3", 2, 1)
-        ));//Arrays.aslist returns fixed size list can't add or remove so we wrap it
-        calculateFCFS(processList);
+        // The table and chart read the schedule itself, so no Process objects are kept around;
+        // a loaded event log can hold millions of processes
+        workload = new Workload.Builder()
+                .add("P1", 0, 8)
+                .add("P2", 1, 4)
+                .add("P3", 2, 1)
+                .build();
+        runPolicy(new FcfsPolicy());
 
         // 2. Gantt Chart Panel (Top)
-        JPanel ganttPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                drawGanttChart(g, currentTimeLine); // Pass the list here
-            }
-        };
+        ganttPanel = new GanttPanel();
+        ganttPanel.setResult(currentResult);
         ganttPanel.setPreferredSize(new Dimension(900, 150));
         add(ganttPanel, BorderLayout.NORTH);
 
         // 3. Table (Center)
-        String[] columns = {"Process ID", "Arrival Time", "Burst Time", "Completion Time", "Turnaround Time", "Waiting Time"};
-        tableModel = new DefaultTableModel(columns, 0);
-        for (Process p : processList) {
-            tableModel.addRow(new Object[]{p.pid, p.arrivalTime, p.burstTime, p.completionTime, p.turnAroundTime, p.waitingTime});
-        }
+        tableModel = new ScheduleTableModel();
+        tableModel.setResult(currentResult);
         JTable table = new JTable(tableModel);
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    tableModel.sortBy(table.convertColumnIndexToModel(column));
+                    showSortOrder(table);
+                }
+            }
+        });
         add(new JScrollPane(table), BorderLayout.CENTER);
 
         // 4. Stats Label (Bottom)
-        statsLabel = new JLabel(calculateStats(processList), SwingConstants.CENTER);
+        statsLabel = new JLabel(calculateStats(currentMetrics), SwingConstants.CENTER);
+        statsLabel.setToolTipText(statsDetails(currentMetrics));
         statsLabel.setFont(new Font("Arial", Font.BOLD, 14));
         statsLabel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-        add(statsLabel, BorderLayout.SOUTH);
+        progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        telemetryLabel = new JLabel(SchedulerTelemetry.summary(), SwingConstants.CENTER);
+        telemetryLabel.setFont(telemetryLabel.getFont().deriveFont(Font.PLAIN, 11f));
+        telemetryLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 4, 10));
+        new Timer(500, e -> telemetryLabel.setText(SchedulerTelemetry.summary())).start();
+        JPanel statusPanel = new JPanel(new BorderLayout());
+        statusPanel.add(statsLabel, BorderLayout.CENTER);
+        statusPanel.add(progressBar, BorderLayout.EAST);
+        statusPanel.add(telemetryLabel, BorderLayout.SOUTH);
+        add(statusPanel, BorderLayout.SOUTH);
 
         JPanel inputPanel = createInputPanel();
         add(inputPanel, BorderLayout.WEST);
@@ -68,6 +111,7 @@ public class SchedulerVisualizer extends JFrame {
         JTextField pidField = new JTextField(5);
         JTextField arrivalField = new JTextField(5);
         JTextField burstField = new JTextField(5);
+        JSpinner niceSpinner = new JSpinner(new SpinnerNumberModel(0, -20, 19, 1));
 
         panel.add(new JLabel("Process ID (e.g. P1):"));
         panel.add(pidField);
@@ -75,6 +119,8 @@ public class SchedulerVisualizer extends JFrame {
         panel.add(arrivalField);
         panel.add(new JLabel("Burst Time:"));
         panel.add(burstField);
+        panel.add(new JLabel("Nice (CFS, -20..19):"));
+        panel.add(niceSpinner);
 
         // Create a slider: Min 1, Max 10, Initial 2
         JSlider quantumSlider = new JSlider(JSlider.HORIZONTAL, 1, 10, 2);
@@ -92,45 +138,103 @@ public class SchedulerVisualizer extends JFrame {
         sliderGroup.add(quantumValueLabel);
         panel.add(sliderGroup);
 
+        // Multi-CPU settings: one CPU with a global queue is the classic single-CPU schedule
+        cpuSpinner = new JSpinner(new SpinnerNumberModel(1, 1, MAX_CPUS, 1));
+        queueSelector = new JComboBox<>(new String[]{"Global Queue", "Per-CPU Queues + Stealing"});
+        migrationSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 1000, 1));
+        JPanel cpuGroup = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        cpuGroup.add(new JLabel("CPUs:"));
+        cpuGroup.add(cpuSpinner);
+        cpuGroup.add(new JLabel("Migration Cost:"));
+        cpuGroup.add(migrationSpinner);
+        panel.add(cpuGroup);
+        panel.add(queueSelector);
+
+        // CFS settings: the period shared by the runnable processes, and the shortest slice
+        latencySpinner = new JSpinner(new SpinnerNumberModel(CfsPolicy.DEFAULT_TARGET_LATENCY, 1, 1000, 1));
+        granularitySpinner = new JSpinner(new SpinnerNumberModel(CfsPolicy.DEFAULT_MIN_GRANULARITY, 1, 1000, 1));
+        JPanel cfsGroup = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        cfsGroup.add(new JLabel("CFS Latency:"));
+        cfsGroup.add(latencySpinner);
+        cfsGroup.add(new JLabel("Granularity:"));
+        cfsGroup.add(granularitySpinner);
+        panel.add(cfsGroup);
+
         JButton addButton = new JButton("Add Process");
         JButton clearButton = new JButton("Clear All");
+        JButton compareButton = new JButton("Compare All");
+        JButton liveButton = new JButton("Live Stream");
+        JButton sweepButton = new JButton("Sweep Quantum (1-" + SWEEP_MAX_QUANTUM + ")");
+        JButton generateButton = new JButton("Generate...");
+        JButton saveLogButton = new JButton("Save Event Log...");
+        JButton openLogButton = new JButton("Open Event Log...");
+        JButton playbackButton = new JButton("Playback...");
 
         panel.add(Box.createRigidArea(new Dimension(0, 10))); // Spacer
         panel.add(addButton);
         panel.add(clearButton);
+        panel.add(compareButton);
+        panel.add(sweepButton);
+        sweepStatus = new JLabel(" ");
+        sweepStatus.setFont(sweepStatus.getFont().deriveFont(Font.PLAIN, 11f));
+        panel.add(sweepStatus);
+        panel.add(liveButton);
+        panel.add(generateButton);
+        panel.add(saveLogButton);
+        panel.add(openLogButton);
+        panel.add(playbackButton);
 
         // Inside your createInputPanel() or as a class member
-        String[] algorithms = {"FCFS", "SJF (Non-Preemptive)", "SRTF", "Round Robin"};
+        String[] algorithms = {"FCFS", "SJF (Non-Preemptive)", "SRTF", "Round Robin", "CFS"};
         JComboBox<String> algoSelector = new JComboBox<>(algorithms);
 
         panel.add(algoSelector);
 
         // When the user clicks "Add Process" or changes the selection:
         algoSelector.addActionListener(e -> {
-            String selected = (String) algoSelector.getSelectedItem();
-            if ("FCFS".equals(selected)) {
-                calculateFCFS(processList);
-            } else if("SJF (Non-Preemptive)".equals(selected)) {
-                calculateSJF(processList);
-            } else if("SRTF".equals(selected)) {
-                calculateSRTF(processList);
-            } else if("Round Robin".equals(selected)) {
-                calculateRR(processList, (Integer) quantumSlider.getValue());
-            }
-
-            refreshUI();
+            simulate(withCpus(policyFor((String) algoSelector.getSelectedItem(), quantumSlider.getValue())));
         });
+        Runnable cpuSettingsChanged = () -> {
+            int cpus = (Integer) cpuSpinner.getValue();
+            ganttPanel.setPreferredSize(new Dimension(900, Math.max(150, Math.min(GanttPanel.preferredHeight(cpus), MAX_GANTT_HEIGHT))));
+            revalidate();
+            simulate(withCpus(policyFor((String) algoSelector.getSelectedItem(), quantumSlider.getValue())));
+        };
+        cpuSpinner.addChangeListener(e -> cpuSettingsChanged.run());
+        migrationSpinner.addChangeListener(e -> cpuSettingsChanged.run());
+        queueSelector.addActionListener(e -> cpuSettingsChanged.run());
+        Runnable cfsSettingsChanged = () -> {
+            if ("CFS".equals(algoSelector.getSelectedItem())) {
+                simulate(withCpus(policyFor((String) algoSelector.getSelectedItem(), quantumSlider.getValue())));
+            }
+        };
+        latencySpinner.addChangeListener(e -> cfsSettingsChanged.run());
+        granularitySpinner.addChangeListener(e -> cfsSettingsChanged.run());
 
         // --- The Logic for add button ---
 
+        // Dragging the slider fires a change per step; only the value it settles on gets simulated
+        Timer quantumDebounce = new Timer(150, e -> {
+            // Only re-calculate if we are currently in Round Robin mode and the sweep has not already
+            if ("Round Robin".equals((String)algoSelector.getSelectedItem()) && sweptResult(quantumSlider.getValue()) == null) {
+                simulate(withCpus(new RoundRobinPolicy(quantumSlider.getValue())));
+            }
+            refreshComparison(quantumSlider.getValue());
+        });
+        quantumDebounce.setRepeats(false);
+
         quantumSlider.addChangeListener(e -> {
             quantumValueLabel.setText("Value: " + quantumSlider.getValue());
-
-            // Only re-calculate if we are currently in Round Robin mode
-            if ("Round Robin".equals((String)algoSelector.getSelectedItem())) {
-                calculateRR(processList, quantumSlider.getValue());
-                refreshUI();
+            if (sweepPlot != null) {
+                sweepPlot.setSelectedQuantum(quantumSlider.getValue());
             }
+            // After a sweep the schedule is just looked up, so it can follow the slider live
+            ScheduleResult swept = sweptResult(quantumSlider.getValue());
+            if (swept != null && "Round Robin".equals((String)algoSelector.getSelectedItem())) {
+                runner.cancel();
+                showResult(swept, quantumSweep.metrics(quantumSlider.getValue()));
+            }
+            quantumDebounce.restart();
         });
 
         addButton.addActionListener(e -> {
@@ -138,369 +242,416 @@ public class SchedulerVisualizer extends JFrame {
                 String pid = pidField.getText();
                 int arrival = Integer.parseInt(arrivalField.getText());
                 int burst = Integer.parseInt(burstField.getText());
+                int nice = (Integer) niceSpinner.getValue();
 
-                // 1. Add to our list
-                processList.add(new Process(pid, arrival, burst));
-
-                // 2. Re-calculate everything
-                String selected = (String) algoSelector.getSelectedItem();
-                if ("FCFS".equals(selected)) {
-                    calculateFCFS(processList);
-                } else if("SJF (Non-Preemptive)".equals(selected)) {
-                    calculateSJF(processList);
-                } else if("SRTF".equals(selected)) {
-                    calculateSRTF(processList);
-                } else if("Round Robin".equals(selected)) {
-                    calculateRR(processList, (Integer)quantumSlider.getValue());
-                }
+                // 1. Add to our workload
+                workload = workload.append(pid, arrival, burst, nice);
+                resultCache.clear();
 
-                // 3. Update the Table and Gantt Chart
-                refreshUI();
+                // 2. Re-calculate everything (the Table and Gantt Chart update when it finishes)
+                simulate(withCpus(policyFor((String) algoSelector.getSelectedItem(), quantumSlider.getValue())));
+                refreshComparison(quantumSlider.getValue());
 
                 // Clear fields for next entry
                 pidField.setText("");
                 arrivalField.setText("");
                 burstField.setText("");
+                niceSpinner.setValue(0);
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Please enter valid numbers for Time.");
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage());
             }
         });
 
         clearButton.addActionListener(e -> {
-           processList.clear();
-           currentTimeLine.clear();
-           refreshUI();
+           workload = new Workload.Builder().build();
+           resultCache.clear();
+           simulate(withCpus(policyFor((String) algoSelector.getSelectedItem(), quantumSlider.getValue())));
+           refreshComparison(quantumSlider.getValue());
         });
 
-        return panel;
-    }
+        compareButton.addActionListener(e -> {
+            if (comparisonFrame == null) {
+                comparisonFrame = new ComparisonFrame();
+                comparisonFrame.setLocationRelativeTo(this);
+            }
+            comparisonFrame.setVisible(true);
+            comparisonFrame.compare(workload, quantumSlider.getValue());
+        });
 
-    private void drawGanttChart(Graphics g,  List<Process> processes) {
-        int x = 50; // Starting X-coordinate
-        int y = 50; // Starting Y-coordinate
-        int height = 50;
-        int totalTime = processes.get(processes.size()-1).completionTime;
-        int availableWidth = getWidth() - 100;
-        double scale = (double)availableWidth / totalTime;
-        int currentTime = 0;
-
-        for (Process p : processes) {
-            // Handle Idle Time visually
-            if (p.arrivalTime > currentTime) {
-                int idleWidth = (int)((p.arrivalTime - currentTime) * scale);
-                g.setColor(Color.LIGHT_GRAY);
-                g.drawRect(x, y, idleWidth, height);
-                g.drawString("Idle", x + 5, y + 30);
-                x += idleWidth;
-                currentTime = p.arrivalTime;
+        // Each live view streams with the policy selected when it was opened
+        liveButton.addActionListener(e -> {
+            SchedulingPolicy policy = policyFor((String) algoSelector.getSelectedItem(), quantumSlider.getValue());
+            try {
+                StreamingScheduler.of(policy); // fails early for a policy without a streaming mode
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage());
+                return;
             }
+            LiveStreamFrame live = new LiveStreamFrame(policy);
+            live.setLocationRelativeTo(this);
+            live.setVisible(true);
+        });
 
-            // Draw Process block
-            int width = (int)(p.burstTime * scale);
-            g.setColor(new Color((Math.abs(p.pid.hashCode() * p.pid.hashCode()) % 255), (Math.abs(p.pid.hashCode() * p.pid.hashCode()) % 255), 220));
-            g.fillRect(x, y, width, height);
-            g.setColor(Color.BLACK);
-            g.drawRect(x, y, width, height);
+        sweepButton.addActionListener(e -> {
+            if (sweepFrame == null) {
+                sweepPlot = new SweepPlotPanel(quantumSlider::setValue);
+                sweepFrame = new JFrame();
+                sweepFrame.setSize(800, 450);
+                sweepFrame.add(sweepPlot);
+                sweepFrame.setLocationRelativeTo(this);
+            }
+            Workload swept = workload;
+            // A sweep still running is replaced, and says so, before the new one starts
+            sweepRunner.submit(() -> QuantumSweep.run(swept, 1, SWEEP_MAX_QUANTUM), sweep -> {
+                quantumSweep = sweep;
+                // Let the slider reach every swept quantum
+                quantumSlider.setMaximum(SWEEP_MAX_QUANTUM);
+                quantumSlider.setSnapToTicks(false);
+                quantumSlider.setMajorTickSpacing(SWEEP_MAX_QUANTUM / 4);
+                quantumSlider.setLabelTable(quantumSlider.createStandardLabels(SWEEP_MAX_QUANTUM / 4, SWEEP_MAX_QUANTUM / 4));
+                sweepPlot.setSweep(sweep);
+                sweepPlot.setSelectedQuantum(quantumSlider.getValue());
+                // Quanta whose schedule did not fit the cache are simulated again when the slider picks them
+                int cached = sweep.cachedCount();
+                int quanta = sweep.maxQuantum() - sweep.minQuantum() + 1;
+                sweepFrame.setTitle("Round Robin Quantum Sweep (" + swept.size() + " processes"
+                        + (cached == quanta ? ")" : ", " + cached + " of " + quanta + " schedules cached, others re-run on selection)"));
+                sweepFrame.setVisible(true);
+                sweepStatus.setText(" ");
+                updateProgress();
+            }, error -> {
+                sweepStatus.setText("Sweep failed");
+                updateProgress();
+                JOptionPane.showMessageDialog(this, "Quantum sweep failed: " + error);
+            }, () -> sweepStatus.setText("Sweep cancelled"));
+            progressTimer.start();
+            updateProgress();
+        });
 
-            // Labels
-            g.drawString(p.pid, x + (width / 4), y + 30);
-            g.drawString(String.valueOf(currentTime), x, y + height + 20); // Start time
+        // Replaces the process list with a synthetic one; the same settings always give the same processes
+        generateButton.addActionListener(e -> {
+            JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(100_000, 1, 50_000_000, 1000));
+            JTextField seedField = new JTextField("1", 10);
+            JComboBox<WorkloadGenerator.Arrivals> arrivalsSelector = new JComboBox<>(WorkloadGenerator.Arrivals.values());
+            JSpinner gapSpinner = new JSpinner(new SpinnerNumberModel(4.0, 0.0, 1_000_000.0, 0.5));
+            JComboBox<WorkloadGenerator.Bursts> burstsSelector = new JComboBox<>(WorkloadGenerator.Bursts.values());
+            JSpinner burstSpinner = new JSpinner(new SpinnerNumberModel(3.0, 1.0, 1_000_000.0, 0.5));
+            JSpinner niceSpreadSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 20, 1));
+            JPanel form = new JPanel(new GridLayout(0, 2, 5, 5));
+            form.add(new JLabel("Processes:"));
+            form.add(countSpinner);
+            form.add(new JLabel("Seed:"));
+            form.add(seedField);
+            form.add(new JLabel("Arrivals:"));
+            form.add(arrivalsSelector);
+            form.add(new JLabel("Mean Gap:"));
+            form.add(gapSpinner);
+            form.add(new JLabel("Burst Times:"));
+            form.add(burstsSelector);
+            form.add(new JLabel("Mean Burst:"));
+            form.add(burstSpinner);
+            form.add(new JLabel("Nice Spread (CFS):"));
+            form.add(niceSpreadSpinner);
+            if (JOptionPane.showConfirmDialog(this, form, "Generate Workload", JOptionPane.OK_CANCEL_OPTION)
+                    != JOptionPane.OK_OPTION) {
+                return;
+            }
+            WorkloadGenerator generator;
+            try {
+                generator = new WorkloadGenerator(Long.parseLong(seedField.getText().trim()),
+                        (WorkloadGenerator.Arrivals) arrivalsSelector.getSelectedItem(), (Double) gapSpinner.getValue(),
+                        (WorkloadGenerator.Bursts) burstsSelector.getSelectedItem(), (Double) burstSpinner.getValue(),
+                        (Integer) niceSpreadSpinner.getValue());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Please enter a whole number for the seed.");
+                return;
+            }
+            int count = (Integer) countSpinner.getValue();
+            runTask(() -> generator.generate(count), generated -> {
+                workload = generated;
+                resultCache.clear();
+                setTitle("OS Process Scheduler Visualizer - " + count + " generated processes");
+                simulate(withCpus(policyFor((String) algoSelector.getSelectedItem(), quantumSlider.getValue())));
+                refreshComparison(quantumSlider.getValue());
+            }, "Cannot generate the workload");
+        });
 
-            x += width;
-            currentTime = p.completionTime;
-            g.drawString(String.valueOf(currentTime), x, y + height + 20); // End time
-        }
-    }
+        saveLogButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            ScheduleResult saved = currentResult;
+            String policy = currentMetrics.policy();
+            Path path = chooser.getSelectedFile().toPath();
+            runTask(() -> {
+                EventLog.write(saved, policy, path);
+                return path;
+            }, written -> { }, "Cannot save the event log");
+        });
 
-    private void refreshUI() {
-        // Clear the table and re-add all processes
-        tableModel.setRowCount(0);
-        for (Process p : processList) {
-            tableModel.addRow(new Object[]{p.pid, p.arrivalTime, p.burstTime, p.completionTime, p.turnAroundTime, p.waitingTime});
-        }
+        // Shows a logged schedule as it was recorded; picking a policy afterwards reschedules its processes
+        openLogButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            Path path = chooser.getSelectedFile().toPath();
+            ScheduleTableModel.Sorting sorting = tableModel.sorting();
+            runTask(() -> {
+                EventLog log = EventLog.open(path);
+                ScheduleResult result = log.toResult();
+                if (result.size() > 0) {
+                    result.firstRunTime(0);
+                }
+                sorting.prepare(result);
+                return new ResultCache.Entry(result, ScheduleMetrics.of(log.policy(), result));
+            }, entry -> {
+                workload = entry.result.workload();
+                resultCache.clear();
+                setTitle("OS Process Scheduler Visualizer - " + path.getFileName() + " (" + entry.metrics.policy() + ")");
+                ganttPanel.setPreferredSize(new Dimension(900, Math.max(150,
+                        Math.min(GanttPanel.preferredHeight(entry.result.cpuCount()), MAX_GANTT_HEIGHT))));
+                revalidate();
+                runner.cancel(); // a schedule still running for the old process list must not replace it
+                showResult(entry.result, entry.metrics, sorting);
+                refreshComparison(quantumSlider.getValue());
+            }, "Cannot open the event log");
+        });
 
-        // Update the stats label (You'll need to make statsLabel a member variable)
-        statsLabel.setText(calculateStats(processList));
+        // Indexes the schedule on screen in the background, then opens a player for it
+        playbackButton.addActionListener(e -> {
+            if (currentResult == null || currentResult.makespan() == 0) {
+                JOptionPane.showMessageDialog(this, "Nothing scheduled to play back.");
+                return;
+            }
+            ScheduleResult played = currentResult;
+            String policy = currentMetrics.policy();
+            runTask(() -> PlaybackIndex.build(played), index -> {
+                PlaybackFrame playback = new PlaybackFrame(index, policy);
+                playback.setLocationRelativeTo(this);
+                playback.setVisible(true);
+            }, "Cannot index the schedule");
+        });
 
-        // This is the magic command that tells the Gantt Chart to redraw itself!
-        repaint();
+        return panel;
     }
 
-    private void calculateFCFS(List<Process> processes) {
-        // 1. Sort processes by arrival time
-        currentTimeLine = new ArrayList<>(processes);
-        currentTimeLine.sort(Comparator.comparingInt(p -> p.arrivalTime));
-
-        int currentTime = 0;
-        for (Process p : currentTimeLine) {
-            // If the CPU is idle because the process hasn't arrived yet
-            if (currentTime < p.arrivalTime) {
-                currentTime = p.arrivalTime;
-            }
-
-            // Start time for this process is the current time
-            // completionTime = start time + burst time
-            p.completionTime = currentTime + p.burstTime;
+    // The swept RR schedule for this quantum, or null if there is none for the current processes
+    // (sweeps are single-CPU)
+    private ScheduleResult sweptResult(int timeQuantum) {
+        if (quantumSweep == null || quantumSweep.workload() != workload || (Integer) cpuSpinner.getValue() > 1) {
+            return null;
+        }
+        return quantumSweep.result(timeQuantum);
+    }
 
-            // Turnaround Time = Completion - Arrival
-            p.turnAroundTime = p.completionTime - p.arrivalTime;
+    private void refreshUI(ScheduleTableModel.Sorting sorting) {
+        SchedulerTelemetry.RefreshEvent refresh = SchedulerTelemetry.startRefresh(currentResult.size());
+        // The table reads the new result directly and repaints only the rows that changed
+        tableModel.setResult(currentResult, sorting);
 
-            // Waiting Time = Turnaround - Burst
-            p.waitingTime = p.turnAroundTime - p.burstTime;
+        // Update the stats label (You'll need to make statsLabel a member variable)
+        statsLabel.setText(calculateStats(currentMetrics));
+        statsLabel.setToolTipText(statsDetails(currentMetrics));
 
-            // Move the clock forward
-            currentTime = p.completionTime;
+        // Hand the new schedule to the Gantt Chart, which redraws itself
+        ganttPanel.setResult(currentResult);
+        repaint();
+        SchedulerTelemetry.endRefresh(refresh);
+    }
 
-            for(Process pp : processes) {
-                if (pp.pid.equals(p.pid)) {
-                    pp.completionTime = p.completionTime;
-                    pp.turnAroundTime = p.turnAroundTime;
-                    pp.waitingTime = p.waitingTime;
-                }
-            }
+    // Marks the sorted column's header with an arrow
+    private void showSortOrder(JTable table) {
+        for (int c = 0; c < table.getColumnCount(); c++) {
+            TableColumn column = table.getColumnModel().getColumn(c);
+            int modelColumn = column.getModelIndex();
+            String arrow = modelColumn != tableModel.sortColumn() ? "" : tableModel.isDescending() ? " \u25BC" : " \u25B2";
+            column.setHeaderValue(tableModel.getColumnName(modelColumn) + arrow);
         }
+        table.getTableHeader().repaint();
     }
 
-    private void calculateSJF(List<Process> processes) {
-        int n = processes.size();
-        if (n == 0) return;
-        List<Process> sortedProcesses = new ArrayList<>();
-        currentTimeLine = new ArrayList<>(processes);
-
-        // Reset all processes first
-        for(Process p : currentTimeLine) p.completionTime = 0;
-
-        int currentTime = 0;
-        int completed = 0;
-        boolean[] isCompleted = new boolean[n];
-
-        while (completed != n) {
-            int idx = -1;
-            int minBurst = Integer.MAX_VALUE;
-
-            // Find the process that has arrived and has the shortest burst time
-            for (int i = 0; i < n; i++) {
-                Process p = currentTimeLine.get(i);
-                if (p.arrivalTime <= currentTime && !isCompleted[i]) {
-                    if (p.burstTime < minBurst) {
-                        minBurst = p.burstTime;
-                        idx = i;
-                    }
-                    // If burst times are equal, pick the one that arrived first (FCFS tie-break)
-                    else if (p.burstTime == minBurst) {
-                        if (p.arrivalTime < currentTimeLine.get(idx).arrivalTime) {
-                            idx = i;
-                        }
-                    }
-                }
-            }
-
-            if (idx != -1) {
-                Process p = processList.get(idx);
-                p.completionTime = currentTime + p.burstTime;
-                p.turnAroundTime = p.completionTime - p.arrivalTime;
-                p.waitingTime = p.turnAroundTime - p.burstTime;
-
-                currentTime = p.completionTime;
-                isCompleted[idx] = true;
-                completed++;
-                sortedProcesses.add(p);
-            } else {
-                // No process has arrived yet, CPU is IDLE
-                currentTime++;
-            }
+    // Maps a combo box entry to the policy that implements it
+    private SchedulingPolicy policyFor(String selected, int timeQuantum) {
+        if ("SJF (Non-Preemptive)".equals(selected)) {
+            return new SjfPolicy();
+        } else if ("SRTF".equals(selected)) {
+            return new SrtfPolicy();
+        } else if ("Round Robin".equals(selected)) {
+            return new RoundRobinPolicy(timeQuantum);
+        } else if ("CFS".equals(selected)) {
+            int granularity = (Integer) granularitySpinner.getValue();
+            return new CfsPolicy(Math.max((Integer) latencySpinner.getValue(), granularity), granularity);
         }
-
-        currentTimeLine.clear();
-        currentTimeLine = sortedProcesses;
+        return new FcfsPolicy();
     }
 
-    public void calculateSRTF(List<Process> processes) {
-        List<GanttBlock> timeline = new ArrayList<>();
-        int n = processes.size();
-        int currentTime = 0;
-        int completed = 0;
-        String lastPid = "";
-        int blockStart = 0;
-        currentTimeLine = new ArrayList<>(processes);
-
-        // We must work on copies because we will be subtracting from remainingTime
-        for (Process p : currentTimeLine) {
-            p.remainingTime = p.burstTime;
+    // Runs the policy on the configured CPUs; one CPU with a global queue is the policy itself,
+    // and so is a policy without a multi-CPU mode (CFS)
+    private SchedulingPolicy withCpus(SchedulingPolicy policy) {
+        int cpus = (Integer) cpuSpinner.getValue();
+        boolean perCpuQueues = queueSelector.getSelectedIndex() == 1;
+        if ((cpus == 1 && !perCpuQueues) || !MultiCpuPolicy.supports(policy)) {
+            return policy;
         }
+        return new MultiCpuPolicy(policy, cpus, perCpuQueues, (Integer) migrationSpinner.getValue());
+    }
 
-        while (completed != n) {
-            int idx = -1;
-            int minRemaining = Integer.MAX_VALUE;
-
-            for (int i = 0; i < n; i++) {
-                Process p = currentTimeLine.get(i);
-                if (p.arrivalTime <= currentTime && p.remainingTime > 0) {
-                    if (p.remainingTime < minRemaining) {
-                        minRemaining = p.remainingTime;
-                        idx = i;
-                    }
-                }
-            }
-
-            if (idx != -1) {
-                Process p = currentTimeLine.get(idx);
-
-                // Check for Context Switch: Did a new process take over?
-                if (!p.pid.equals(lastPid)) {
-                    if (!lastPid.equals("")) {
-                        timeline.add(new GanttBlock(lastPid, blockStart, currentTime));
-                    }
-                    blockStart = currentTime;
-                    lastPid = p.pid;
-                }
-
-                p.remainingTime--;
-                currentTime++;
-
-                if (p.remainingTime == 0) {
-                    processList.get(idx).completionTime = currentTime;
-                    processList.get(idx).turnAroundTime = p.completionTime - p.arrivalTime;
-                    processList.get(idx).waitingTime = p.turnAroundTime - p.burstTime;
-                    completed++;
+    // Schedules the current process list on the calling thread
+    private void runPolicy(SchedulingPolicy policy) {
+        currentResult = policy.schedule(workload);
+        currentMetrics = ScheduleMetrics.of(policy, currentResult);
+    }
 
-                    // Add block to timeline when process finishes
-                    timeline.add(new GanttBlock(p.pid, blockStart, currentTime));
-                    lastPid = ""; // Reset for next potential process
-                }
-            } else {
-                // CPU is Idle
-                if (!lastPid.equals("Idle")) {
-                    if (!lastPid.equals("")) {
-                        timeline.add(new GanttBlock(lastPid, blockStart, currentTime));
-                    }
-                    blockStart = currentTime;
-                    lastPid = "Idle";
-                }
-                currentTime++;
-            }
+    // Same as runPolicy + refreshUI, but off the Event Dispatch Thread. A newer call cancels an
+    // older one that is still running, so only the latest request ever reaches the screen.
+    // After "Add Process" the policy resumes from a checkpoint of the current result instead of
+    // starting over; it falls back to a full run whenever the checkpoints do not fit.
+    // A policy already run on the current process list comes straight from the result cache.
+    private void simulate(SchedulingPolicy policy) {
+        ResultCache.Entry cached = resultCache.get(workload, policy);
+        if (cached != null) {
+            runner.cancel();
+            showResult(cached.result, cached.metrics);
+            updateProgress();
+            return;
         }
-        currentTimeLine.clear();
-        for(GanttBlock g : timeline) {
-            if(!g.pid.equals("Idle")) {
-                currentTimeLine.add(new Process(g.pid, g.startTime, g.endTime - g.startTime));
-                currentTimeLine.get(currentTimeLine.size() - 1).completionTime = g.endTime;
+        Workload scheduled = workload;
+        ScheduleResult previous = currentResult;
+        ScheduleTableModel.Sorting sorting = tableModel.sorting();
+        runner.submit(() -> {
+            ScheduleResult result = policy.reschedule(previous, scheduled);
+            if (result.size() > 0) {
+                result.firstRunTime(0); // fills the response time column here rather than on the EDT
             }
-        }
+            sorting.prepare(result); // and the table's row order
+            return new ResultCache.Entry(result, ScheduleMetrics.of(policy, result));
+        }, entry -> {
+            if (scheduled == workload) {
+                resultCache.put(scheduled, policy, entry);
+            }
+            showResult(entry.result, entry.metrics, sorting);
+            updateProgress();
+        }, error -> {
+            updateProgress();
+            JOptionPane.showMessageDialog(this, "Simulation failed: " + error);
+        });
+        progressTimer.start();
+        updateProgress();
     }
 
-    public void calculateRR(List<Process> processes, int timeQuanta) {
-        List<GanttBlock> timeline = new ArrayList<>();
-        int n = processes.size();
-        int currentTime = 0;
-        int completed = 0;
-        int addedToQueue = 0;
-        String lastPid = "";
-        int blockStart = 0;
-        currentTimeLine = new ArrayList<>(processes);
-        Queue<Process> processQueue = new LinkedList<>();
-        boolean[] isAddedToQueue = new boolean[n];
-
-        // We must work on copies because we will be subtracting from remainingTime
-        for (Process p : currentTimeLine) {
-            p.remainingTime = p.burstTime;
+    // Keeps an open comparison window in step with the process list and quantum
+    private void refreshComparison(int timeQuantum) {
+        if (comparisonFrame != null && comparisonFrame.isVisible()) {
+            comparisonFrame.compare(workload, timeQuantum);
         }
+    }
 
-        while (completed != n) {
+    private void showResult(ScheduleResult result, ScheduleMetrics metrics) {
+        showResult(result, metrics, null);
+    }
 
-            //context switch
-            for (int i = 0; i < n && addedToQueue < n; i++) {
-                Process p = currentTimeLine.get(i);
-                if (p.arrivalTime <= currentTime && p.remainingTime > 0) {
+    // 'sorting', if not null, carries the table's row order prepared along with the result
+    private void showResult(ScheduleResult result, ScheduleMetrics metrics, ScheduleTableModel.Sorting sorting) {
+        currentResult = result;
+        currentMetrics = metrics;
+        refreshUI(sorting);
+    }
 
-                    if (!isAddedToQueue[i]) {
-                        isAddedToQueue[i] = true;
-                        processQueue.add(p);
-                        addedToQueue++;
-                    }
-                }
+    // Runs a job that simulations must not cancel, such as writing a file, on a SwingWorker
+    // thread. onDone gets the result on the EDT; a failure is always reported, prefixed by
+    // 'failure'.
+    private <T> void runTask(Callable<T> job, Consumer<T> onDone, String failure) {
+        tasksRunning++;
+        new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return job.call();
             }
 
-            if (!processQueue.isEmpty()) {
-                Process p = processQueue.poll();
-
-                // Check for Context Switch: Did a new process take over?
-                if (!p.pid.equals(lastPid)) {
-                    if (!lastPid.equals("")) {
-                        timeline.add(new GanttBlock(lastPid, blockStart, currentTime));
-                    }
-                    blockStart = currentTime;
-                    lastPid = p.pid;
-                }
-
-                int newRemianingTime = Math.max(0, p.remainingTime - timeQuanta);
-                currentTime += Math.min(timeQuanta, p.remainingTime - newRemianingTime);
-                p.remainingTime = newRemianingTime;
-
-                if (p.remainingTime == 0) {
-                    for(Process pp : processList){
-                        if(pp.pid.equals(p.pid)){
-                            pp.completionTime = currentTime;
-                            pp.turnAroundTime = p.completionTime - p.arrivalTime;
-                            pp.waitingTime = p.turnAroundTime - p.burstTime;
-                        }
-                    }
-
-                    completed++;
-
-                    // Add block to timeline when process finishes
-                    timeline.add(new GanttBlock(p.pid, blockStart, currentTime));
-                    lastPid = ""; // Reset for next potential process
-                }else{
-                    //check for context switch
-                    for (int i = 0; i < n && addedToQueue < n; i++) {
-                        Process q = currentTimeLine.get(i);
-                        if (q.arrivalTime <= currentTime && q.remainingTime > 0) {
-
-                            if (!isAddedToQueue[i]) {
-                                isAddedToQueue[i] = true;
-                                processQueue.add(q);
-                                addedToQueue++;
-                            }
-                        }
-                    }
-                    processQueue.add(p);
-                }
-            } else {
-                // CPU is Idle
-                if (!lastPid.equals("Idle")) {
-                    if (!lastPid.equals("")) {
-                        timeline.add(new GanttBlock(lastPid, blockStart, currentTime));
-                    }
-                    blockStart = currentTime;
-                    lastPid = "Idle";
+            @Override
+            protected void done() {
+                tasksRunning--;
+                updateProgress();
+                T result;
+                try {
+                    result = get();
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    JOptionPane.showMessageDialog(SchedulerVisualizer.this, failure + ": "
+                            + (cause.getMessage() != null ? cause.getMessage() : cause));
+                    return;
+                } catch (InterruptedException ex) {
+                    return; // done() runs after the job, so get() does not wait
                 }
-                currentTime++;
+                onDone.accept(result);
             }
+        }.execute();
+        progressTimer.start();
+        updateProgress();
+    }
+
+    private void updateProgress() {
+        if (runner.isRunning()) {
+            progressBar.setIndeterminate(false);
+            progressBar.setValue((int) (runner.progress() * 1000));
+            progressBar.setString("Simulating... " + (int) (runner.progress() * 100) + "%");
+            progressBar.setVisible(true);
+        } else if (tasksRunning > 0) {
+            progressBar.setIndeterminate(true);
+            progressBar.setString("Working...");
+            progressBar.setVisible(true);
+        } else {
+            progressBar.setVisible(false);
         }
-        currentTimeLine.clear();
-        for(GanttBlock g : timeline) {
-            if(!g.pid.equals("Idle")) {
-                currentTimeLine.add(new Process(g.pid, g.startTime, g.endTime - g.startTime));
-                currentTimeLine.get(currentTimeLine.size() - 1).completionTime = g.endTime;
-            }
+        if (sweepRunner.isRunning()) {
+            sweepStatus.setText("Sweeping... " + (int) (sweepRunner.progress() * 100) + "%");
+        }
+        if (!runner.isRunning() && tasksRunning == 0 && !sweepRunner.isRunning()) {
+            progressTimer.stop();
         }
     }
 
-    private String calculateStats(List<Process> processes) {
-        double totalWT = 0;
-        double totalTAT = 0;
-
-        for (Process p : processes) {
-            totalWT += p.waitingTime;
-            totalTAT += p.turnAroundTime;
+    // One line for the status bar; the full figures are in statsDetails()
+    private String calculateStats(ScheduleMetrics metrics) {
+        if (metrics.processes() == 0) {
+            return "No processes";
+        }
+        String utilization = String.format("CPU Utilization: %.1f%%", metrics.cpuUtilization() * 100);
+        if (metrics.cpuCount() > 1) {
+            utilization += String.format(" (imbalance %.1f%%)", metrics.loadImbalance() * 100);
         }
+        return String.format("Avg WT: %.2f ms (p99 %d) | Avg TAT: %.2f ms (p99 %d) | Avg RT: %.2f ms | %s | Throughput: %.3f/ms",
+                metrics.averageWaitingTime(), metrics.waitingTime().p99(),
+                metrics.averageTurnaroundTime(), metrics.turnaroundTime().p99(),
+                metrics.averageResponseTime(), utilization, metrics.throughput());
+    }
 
-        double avgWT = totalWT / processes.size();
-        double avgTAT = totalTAT / processes.size();
+    // Tooltip of the status bar: every metric, and the utilization of each core
+    private static String statsDetails(ScheduleMetrics metrics) {
+        if (metrics.processes() == 0) {
+            return null;
+        }
+        StringBuilder details = new StringBuilder("<html><table>");
+        details.append("<tr><th></th><th>mean</th><th>p50</th><th>p90</th><th>p99</th><th>max</th></tr>");
+        appendRow(details, "Waiting Time", metrics.waitingTime());
+        appendRow(details, "Turnaround Time", metrics.turnaroundTime());
+        appendRow(details, "Response Time", metrics.responseTime());
+        details.append("</table>");
+        details.append(String.format("Idle Time: %d | Context Switches: %d | Makespan: %d",
+                metrics.idleTime(), metrics.contextSwitches(), metrics.makespan()));
+        for (int cpu = 0; metrics.cpuCount() > 1 && cpu < metrics.cpuCount(); cpu++) {
+            details.append(String.format("<br>CPU %d: %.1f%%", cpu, metrics.cpuUtilization(cpu) * 100));
+        }
+        return details.append("</html>").toString();
+    }
 
-        // Returning a formatted string for the label
-        return String.format("Average Waiting Time: %.2f ms | Average Turnaround Time: %.2f ms", avgWT, avgTAT);
+    private static void appendRow(StringBuilder details, String name, ScheduleMetrics.Distribution d) {
+        details.append(String.format("<tr><td>%s</td><td>%.2f</td><td>%d</td><td>%d</td><td>%d</td><td>%d</td></tr>",
+                name, d.mean(), d.p50(), d.p90(), d.p99(), d.max()));
     }
 
     public static void main(String[] args) {
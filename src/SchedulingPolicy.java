@@ -0,0 +1,19 @@
+// A CPU scheduling algorithm. Implementations keep no mutable state between calls, so one
+// instance can schedule any number of workloads, from any thread, at the same time.
+public interface SchedulingPolicy {
+    String name();
+
+    // The policy together with its parameters, e.g. "Round Robin (q=4)"
+    default String description() {
+        return name();
+    }
+
+    ScheduleResult schedule(Workload workload);
+
+    // Schedules 'workload', which is previous.workload() with processes appended, reusing as much
+    // of 'previous' as possible; the result is the same as schedule(workload). Falls back to a
+    // full run when 'previous' came from a different policy or workload.
+    default ScheduleResult reschedule(ScheduleResult previous, Workload workload) {
+        return schedule(workload);
+    }
+}
@@ -0,0 +1,44 @@
+import java.util.concurrent.CancellationException;
+
+// Lets a long simulation report how far it got and notice that it has been cancelled, without the
+// policies knowing who is watching. SimulationRunner installs one for each background run; on any
+// other thread report() only checks for interruption.
+public final class SimulationProgress {
+    // Policies call report() once every CHECK_INTERVAL loop iterations
+    static final int CHECK_INTERVAL = 1 << 16;
+
+    private static final ThreadLocal<SimulationProgress> CURRENT = new ThreadLocal<>();
+
+    private volatile double fraction;
+    private volatile boolean cancelled;
+
+    public double fraction() {
+        return fraction;
+    }
+
+    // Makes the next report() on the thread running with this progress abort the run. Needed
+    // where interrupting the thread is not an option, e.g. on a ForkJoinPool worker.
+    void cancel() {
+        cancelled = true;
+    }
+
+    void install() {
+        CURRENT.set(this);
+    }
+
+    void uninstall() {
+        CURRENT.remove();
+    }
+
+    // Publishes done/total for the run on this thread, or aborts it if the thread was interrupted
+    // or its progress cancelled
+    static void report(long done, long total) {
+        SimulationProgress progress = CURRENT.get();
+        if (Thread.currentThread().isInterrupted() || (progress != null && progress.cancelled)) {
+            throw new CancellationException("Simulation cancelled");
+        }
+        if (progress != null && total > 0) {
+            progress.fraction = (double) done / total;
+        }
+    }
+}
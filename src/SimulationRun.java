@@ -0,0 +1,106 @@
+// One execution of a policy over a workload: the state its event loop works on. Every policy
+// keeps the same core (clock, arrival cursor, timeline, completion times) and adds its own ready
+// queue, which it can snapshot into a Checkpoint and rebuild from one. A policy that cannot resume
+// from a checkpoint runs without a CheckpointLog.
+abstract class SimulationRun {
+    private final SchedulerTelemetry.Run telemetry = SchedulerTelemetry.startRun(); // first, to see every allocation
+    final Workload workload;
+    final int n;
+    final int[] arrivalOrder;
+    final Timeline timeline;
+    final int[] completionTimes;
+    final CheckpointLog checkpoints; // null for a run that is never resumed
+    private final String owner;
+    int currentTime;
+    int completed;
+    int nextArrival;
+    long steps;
+
+    // Fresh run from time 0
+    SimulationRun(SchedulingPolicy policy, Workload workload) {
+        this(policy, workload, true);
+    }
+
+    // Same, taking checkpoints only if 'checkpointed'
+    SimulationRun(SchedulingPolicy policy, Workload workload, boolean checkpointed) {
+        this.workload = workload;
+        this.n = workload.size();
+        this.arrivalOrder = workload.arrivalOrder();
+        this.timeline = new Timeline(n);
+        this.completionTimes = new int[n];
+        this.owner = policy.description();
+        this.checkpoints = checkpointed ? new CheckpointLog(owner, n) : null;
+    }
+
+    // Run over 'workload', which is previous.workload() plus appended processes, picking up
+    // from a checkpoint of the previous run that the new arrivals cannot have affected
+    SimulationRun(Workload workload, ScheduleResult previous, Checkpoint from) {
+        this.workload = workload;
+        this.n = workload.size();
+        this.arrivalOrder = workload.arrivalOrder();
+        this.timeline = previous.timeline().resume(from.slices, from.lastSliceEnd, n - previous.size());
+        this.completionTimes = previous.completionTimesFrom(from, n);
+        this.checkpoints = previous.checkpoints().resumeFrom(from, n);
+        this.owner = checkpoints.owner();
+        this.currentTime = from.time;
+        this.completed = from.completed;
+        this.nextArrival = from.nextArrival;
+        this.steps = from.steps;
+    }
+
+    final ScheduleResult run() {
+        long firstStep = steps;
+        while (completed != n) {
+            if ((++steps & (SimulationProgress.CHECK_INTERVAL - 1)) == 0) {
+                SimulationProgress.report(completed, n);
+            }
+            if ((steps & (SchedulerTelemetry.SAMPLE_INTERVAL - 1)) == 0) {
+                telemetry.sampleRunnable(runnable());
+            }
+            if (checkpoints != null && checkpoints.due(steps)) {
+                checkpoints.add(checkpoint());
+            }
+            step();
+        }
+        // The final state lets a late arrival be scheduled without replaying anything
+        if (checkpoints != null) {
+            checkpoints.add(checkpoint());
+        }
+        telemetry.end(owner, n, steps - firstStep, timeline.size());
+        return new ScheduleResult(workload, timeline, completionTimes, checkpoints);
+    }
+
+    final Checkpoint checkpoint() {
+        int slices = timeline.size();
+        return new Checkpoint(currentTime, validFrom(), nextArrival, completed, slices,
+                slices == 0 ? 0 : timeline.endTime(slices - 1), steps, snapshotReadyQueue());
+    }
+
+    // Remaining burst per process for preemptive policies, all full; a resumed run then restores
+    // the queued processes from its checkpoint
+    final int[] initialRemainingTimes() {
+        int[] remainingTimes = new int[n];
+        for (int i = 0; i < n; i++) {
+            remainingTimes[i] = workload.burstTime(i);
+        }
+        return remainingTimes;
+    }
+
+    // Earliest arrival a process added later may have for a checkpoint taken now to stay valid.
+    // Arrivals up to currentTime may already have been admitted, so by default only later ones.
+    int validFrom() {
+        return currentTime == Integer.MAX_VALUE ? Integer.MAX_VALUE : currentTime + 1;
+    }
+
+    // Processes arrived but not completed, the one on the CPU included. Admitted arrivals are
+    // either queued or done, which holds for every policy that queues them on arrival.
+    int runnable() {
+        return nextArrival - completed;
+    }
+
+    // One pass of the policy's event loop; only called while processes are left
+    abstract void step();
+
+    // Only called on runs that take checkpoints
+    abstract long[] snapshotReadyQueue();
+}
@@ -0,0 +1,85 @@
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Runs one simulation at a time on a background thread so the Event Dispatch Thread never blocks.
+// Submitting a new run cancels the one in flight, and only the latest result is handed back,
+// on the EDT; a run dropped before its result was handed back gets its onCancelled instead.
+// submit(), cancel() and isRunning() must be called on the EDT.
+public class SimulationRunner {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "scheduler-simulation");
+        t.setDaemon(true);
+        return t;
+    });
+    private Future<?> inFlight;
+    private Runnable inFlightCancelled; // onCancelled of the run in flight
+    private long generation; // bumped per submit; older runs finishing late are dropped
+    private volatile SimulationProgress progress;
+
+    // Runs a simulation job, e.g. a schedule or a QuantumSweep, cancelling the one in flight.
+    // Jobs that must not be cut short (file I/O, generation) belong elsewhere.
+    public <T> void submit(Supplier<T> job, Consumer<T> onDone, Consumer<Throwable> onError) {
+        submit(job, onDone, onError, () -> { });
+    }
+
+    // Same, calling onCancelled on the EDT if the job is dropped before it hands back a result
+    public <T> void submit(Supplier<T> job, Consumer<T> onDone, Consumer<Throwable> onError, Runnable onCancelled) {
+        dropInFlight();
+        inFlightCancelled = onCancelled;
+        long myGeneration = ++generation;
+        SimulationProgress runProgress = new SimulationProgress();
+        progress = runProgress;
+        inFlight = executor.submit(() -> {
+            runProgress.install();
+            try {
+                T result = job.get();
+                SwingUtilities.invokeLater(() -> {
+                    if (myGeneration == generation) {
+                        inFlight = null;
+                        onDone.accept(result);
+                    }
+                });
+            } catch (CancellationException cancelled) {
+                // Dropped by submit() or cancel(), which ran its onCancelled
+            } catch (RuntimeException | Error e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (myGeneration == generation) {
+                        inFlight = null;
+                        onError.accept(e);
+                    }
+                });
+            } finally {
+                runProgress.uninstall();
+            }
+        });
+    }
+
+    // Drops the run in flight, if any, without starting another
+    public void cancel() {
+        dropInFlight();
+        generation++;
+    }
+
+    // inFlight is cleared when a result is handed back, so a run still here never delivered one
+    private void dropInFlight() {
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+            inFlightCancelled.run();
+        }
+    }
+
+    public boolean isRunning() {
+        return inFlight != null;
+    }
+
+    // Progress of the latest run, 0..1
+    public double progress() {
+        return progress == null ? 0 : progress.fraction();
+    }
+}
@@ -0,0 +1,63 @@
+// Non-preemptive Shortest Job First
+public final class SjfPolicy implements SchedulingPolicy {
+
+    @Override
+    public String name() {
+        return "SJF (Non-Preemptive)";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload workload) {
+        return new Run(this, workload).run();
+    }
+
+    @Override
+    public ScheduleResult reschedule(ScheduleResult previous, Workload workload) {
+        Checkpoint from = previous.resumePoint(this, workload);
+        return from == null ? schedule(workload) : new Run(workload, previous, from).run();
+    }
+
+    private static final class Run extends SimulationRun {
+        // Shortest burst first; ties fall back to arrival position, i.e. earliest arrival then entry order
+        private final LongHeap readyQueue;
+
+        Run(SchedulingPolicy policy, Workload workload) {
+            super(policy, workload);
+            readyQueue = new LongHeap(64);
+        }
+
+        Run(Workload workload, ScheduleResult previous, Checkpoint from) {
+            super(workload, previous, from);
+            readyQueue = new LongHeap(from.readyQueue);
+        }
+
+        @Override
+        void step() {
+            // Admit everything that has arrived by now
+            while (nextArrival < n && workload.arrivalTime(arrivalOrder[nextArrival]) <= currentTime) {
+                readyQueue.add(LongHeap.pack(workload.burstTime(arrivalOrder[nextArrival]), nextArrival));
+                nextArrival++;
+            }
+
+            if (readyQueue.isEmpty()) {
+                // No process has arrived yet, CPU is IDLE until the next arrival
+                currentTime = workload.arrivalTime(arrivalOrder[nextArrival]);
+                return;
+            }
+
+            int idx = arrivalOrder[LongHeap.tie(readyQueue.poll())];
+            completionTimes[idx] = currentTime + workload.burstTime(idx);
+            timeline.append(idx, currentTime, completionTimes[idx]);
+
+            currentTime = completionTimes[idx];
+            completed++;
+        }
+
+        // Heap entries are (burst, arrival position); positions of admitted processes never
+        // change when later arrivals are added, so they can be restored as they are
+        @Override
+        long[] snapshotReadyQueue() {
+            return readyQueue.toArray();
+        }
+    }
+}
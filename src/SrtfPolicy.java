@@ -0,0 +1,87 @@
+// Shortest Remaining Time First (preemptive SJF), simulated event by event: the clock only
+// stops at arrivals and completions.
+public final class SrtfPolicy implements SchedulingPolicy {
+
+    @Override
+    public String name() {
+        return "SRTF";
+    }
+
+    @Override
+    public ScheduleResult schedule(Workload workload) {
+        return new Run(this, workload).run();
+    }
+
+    @Override
+    public ScheduleResult reschedule(ScheduleResult previous, Workload workload) {
+        Checkpoint from = previous.resumePoint(this, workload);
+        return from == null ? schedule(workload) : new Run(workload, previous, from).run();
+    }
+
+    private static final class Run extends SimulationRun {
+        // Private copy because we will be subtracting from it
+        private final int[] remainingTimes;
+
+        // Min-heap on (remaining time, process index). A process's key only changes while it is
+        // running, i.e. outside the heap, so the packed entry never goes stale.
+        private final LongHeap readyQueue;
+
+        Run(SchedulingPolicy policy, Workload workload) {
+            super(policy, workload);
+            remainingTimes = initialRemainingTimes();
+            readyQueue = new LongHeap(64);
+        }
+
+        Run(Workload workload, ScheduleResult previous, Checkpoint from) {
+            super(workload, previous, from);
+            remainingTimes = initialRemainingTimes();
+            readyQueue = new LongHeap(from.readyQueue);
+            for (long entry : from.readyQueue) {
+                remainingTimes[LongHeap.tie(entry)] = LongHeap.key(entry);
+            }
+        }
+
+        @Override
+        void step() {
+            // Admit everything that has arrived by now
+            while (nextArrival < n && workload.arrivalTime(arrivalOrder[nextArrival]) <= currentTime) {
+                int arrived = arrivalOrder[nextArrival++];
+                readyQueue.add(LongHeap.pack(remainingTimes[arrived], arrived));
+            }
+
+            if (readyQueue.isEmpty()) {
+                // CPU is Idle: jump straight to the next arrival
+                currentTime = workload.arrivalTime(arrivalOrder[nextArrival]);
+                return;
+            }
+
+            int idx = LongHeap.tie(readyQueue.poll());
+
+            // Nothing can preempt us before the next arrival, so run until then or until done.
+            // If the same process wins again afterwards the timeline merges the two runs.
+            int runFor = Math.max(remainingTimes[idx], 0);
+            if (nextArrival < n) {
+                runFor = Math.min(runFor, workload.arrivalTime(arrivalOrder[nextArrival]) - currentTime);
+            }
+            timeline.append(idx, currentTime, currentTime + runFor);
+            remainingTimes[idx] -= runFor;
+            currentTime += runFor;
+
+            if (remainingTimes[idx] <= 0) {
+                // Zero-burst processes end up here without ever holding the CPU
+                remainingTimes[idx] = 0;
+                completionTimes[idx] = currentTime;
+                completed++;
+            } else {
+                // Back in the heap with its new key; an arrival may now beat it
+                readyQueue.add(LongHeap.pack(remainingTimes[idx], idx));
+            }
+        }
+
+        // Every process that has started but not finished is in the heap, keyed on its remaining time
+        @Override
+        long[] snapshotReadyQueue() {
+            return readyQueue.toArray();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+import java.util.Arrays;
+
+// Online version of the policies for unbounded arrival streams. Processes are offered in arrival
+// order and the schedule advances as far as the arrivals seen so far allow; a completed process
+// is folded into the running metrics and its slot reused. Nothing is kept per completed process
+// or per slice, so memory follows the number of processes in the system, not the stream length.
+//
+// The decisions are exactly those of the batch policies on the same trace: a decision at time t
+// is only taken once an arrival later than t has been offered (or the stream has ended), since
+// until then another process could still arrive at t.
+public final class StreamingScheduler {
+    private enum Mode { FCFS, SJF, SRTF, RR }
+
+    private final Mode mode;
+    private final int timeQuantum;
+    private final String description;
+
+    // Per-slot state of the processes in the system
+    private long[] arrivalTimes = new long[64];
+    private int[] burstTimes = new int[64];
+    private int[] remainingTimes = new int[64];
+    private long[] firstRunTimes = new long[64];
+    private long[] sequence = new long[64];   // arrival number, for ties and context switches
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int slotsUsed;
+
+    private final SlotQueue pending = new SlotQueue(); // offered, not yet admitted (arrival > time)
+    private final SlotQueue fifo = new SlotQueue();    // ready queue of FCFS and RR
+    private final SlotHeap heap = new SlotHeap();      // ready queue of SJF and SRTF
+
+    private long time;            // next decision: the CPU is free from here on
+    private int running = -1;     // slot on the CPU until runEnd, or -1
+    private long runStart;
+    private long runEnd;
+    private int preempted = -1;   // RR: goes back in the queue after this round's arrivals
+    private long lastSliceSequence = -1;
+    private boolean started;
+
+    // Running metrics
+    private long arrived;
+    private long completed;
+    private long firstArrival;
+    private long lastArrival;
+    private long busyTime;
+    private long contextSwitches;
+    private final LatencyHistogram waiting = new LatencyHistogram();
+    private final LatencyHistogram turnaround = new LatencyHistogram();
+    private final LatencyHistogram response = new LatencyHistogram();
+
+    private StreamingScheduler(Mode mode, int timeQuantum, String description) {
+        this.mode = mode;
+        this.timeQuantum = timeQuantum;
+        this.description = description;
+    }
+
+    // Streaming counterpart of one of the batch policies
+    public static StreamingScheduler of(SchedulingPolicy policy) {
+        if (policy instanceof FcfsPolicy) {
+            return new StreamingScheduler(Mode.FCFS, 0, policy.description());
+        } else if (policy instanceof SjfPolicy) {
+            return new StreamingScheduler(Mode.SJF, 0, policy.description());
+        } else if (policy instanceof SrtfPolicy) {
+            return new StreamingScheduler(Mode.SRTF, 0, policy.description());
+        } else if (policy instanceof RoundRobinPolicy) {
+            return new StreamingScheduler(Mode.RR, ((RoundRobinPolicy) policy).timeQuantum(), policy.description());
+        }
+        throw new IllegalArgumentException(policy.description() + " has no streaming mode");
+    }
+
+    public String description() {
+        return description;
+    }
+
+    // Adds the next process of the stream; arrivals must not decrease
+    public void offer(long arrivalTime, int burstTime) {
+        if (started && arrivalTime < lastArrival) {
+            throw new IllegalArgumentException("Arrival " + arrivalTime + " is before the previous one, " + lastArrival);
+        }
+        if (!started) {
+            started = true;
+            firstArrival = arrivalTime;
+            time = arrivalTime;
+        }
+        lastArrival = arrivalTime;
+
+        advance(arrivalTime);
+        if (mode == Mode.SRTF && running >= 0 && runEnd > arrivalTime) {
+            // The newcomer may preempt: cut the slice here and decide again at its arrival
+            remainingTimes[running] += (int) (runEnd - arrivalTime);
+            runEnd = arrivalTime;
+        }
+
+        int slot = allocate();
+        arrivalTimes[slot] = arrivalTime;
+        burstTimes[slot] = burstTime;
+        remainingTimes[slot] = burstTime;
+        firstRunTimes[slot] = -1;
+        sequence[slot] = arrived++;
+        pending.add(slot);
+    }
+
+    // End of stream: runs everything still in the system to completion
+    public void finish() {
+        advance(Long.MAX_VALUE);
+    }
+
+    // Takes every decision before 'limit'
+    private void advance(long limit) {
+        while (true) {
+            if (running >= 0) {
+                if (runEnd >= limit) {
+                    return; // the decision at runEnd has to wait for the arrivals up to then
+                }
+                endSlice();
+            }
+            if (time >= limit) {
+                return;
+            }
+            admitArrivals();
+            if (preempted >= 0) {
+                fifo.add(preempted);
+                preempted = -1;
+            }
+            if (fifo.isEmpty() && heap.isEmpty()) {
+                if (pending.isEmpty()) {
+                    return; // idle until the next offer
+                }
+                time = Math.max(time, arrivalTimes[pending.peek()]); // CPU is Idle
+                continue;
+            }
+            dispatch(mode == Mode.SJF || mode == Mode.SRTF ? heap.poll() : fifo.poll());
+        }
+    }
+
+    private void admitArrivals() {
+        while (!pending.isEmpty() && arrivalTimes[pending.peek()] <= time) {
+            int slot = pending.poll();
+            if (mode == Mode.SJF || mode == Mode.SRTF) {
+                heap.add(slot);
+            } else {
+                fifo.add(slot);
+            }
+        }
+    }
+
+    private void dispatch(int slot) {
+        int slice = remainingTimes[slot];
+        if (mode == Mode.RR) {
+            slice = Math.min(timeQuantum, Math.max(slice, 0));
+        }
+        slice = Math.max(slice, 0);
+        if (slice == 0) {
+            complete(slot, time); // zero-burst processes finish without holding the CPU
+            return;
+        }
+        if (firstRunTimes[slot] < 0) {
+            firstRunTimes[slot] = time;
+            response.record(time - arrivalTimes[slot]);
+        }
+        running = slot;
+        runStart = time;
+        runEnd = time + slice;
+        remainingTimes[slot] -= slice;
+        if (mode == Mode.SRTF && !pending.isEmpty() && arrivalTimes[pending.peek()] < runEnd) {
+            // An arrival already offered cuts the slice short
+            remainingTimes[slot] += (int) (runEnd - arrivalTimes[pending.peek()]);
+            runEnd = arrivalTimes[pending.peek()];
+        }
+    }
+
+    private void endSlice() {
+        int slot = running;
+        running = -1;
+        time = runEnd;
+        if (runEnd > runStart) {
+            busyTime += runEnd - runStart;
+            if (lastSliceSequence >= 0 && lastSliceSequence != sequence[slot]) {
+                contextSwitches++;
+            }
+            lastSliceSequence = sequence[slot];
+        }
+        if (remainingTimes[slot] <= 0) {
+            complete(slot, time);
+        } else if (mode == Mode.RR) {
+            preempted = slot;
+        } else {
+            heap.add(slot); // SRTF: back in the queue with what is left
+        }
+    }
+
+    private void complete(int slot, long completionTime) {
+        long tat = completionTime - arrivalTimes[slot];
+        turnaround.record(tat);
+        waiting.record(tat - burstTimes[slot]);
+        if (firstRunTimes[slot] < 0) {
+            response.record(tat);
+        }
+        completed++;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotsUsed == arrivalTimes.length) {
+            int capacity = slotsUsed * 2;
+            arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+            burstTimes = Arrays.copyOf(burstTimes, capacity);
+            remainingTimes = Arrays.copyOf(remainingTimes, capacity);
+            firstRunTimes = Arrays.copyOf(firstRunTimes, capacity);
+            sequence = Arrays.copyOf(sequence, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return slotsUsed++;
+    }
+
+    public long completed() {
+        return completed;
+    }
+
+    public long contextSwitches() {
+        return contextSwitches;
+    }
+
+    public double meanResponseTime() {
+        return response.mean();
+    }
+
+    public StreamingStats stats() {
+        long elapsed = Math.max(time - firstArrival, 0);
+        return new StreamingStats(time, arrived, completed, (int) (arrived - completed), waiting, turnaround,
+                elapsed == 0 ? 0 : (double) busyTime / elapsed, elapsed == 0 ? 0 : (double) completed / elapsed);
+    }
+
+    // Growable FIFO of slots
+    private static final class SlotQueue {
+        private int[] items = new int[16];
+        private int head;
+        private int size;
+
+        void add(int slot) {
+            if (size == items.length) {
+                int[] grown = new int[items.length * 2];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = items[(head + i) % items.length];
+                }
+                items = grown;
+                head = 0;
+            }
+            items[(head + size) % items.length] = slot;
+            size++;
+        }
+
+        int peek() {
+            return items[head];
+        }
+
+        int poll() {
+            int slot = items[head];
+            head = (head + 1) % items.length;
+            size--;
+            return slot;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    // Binary min-heap of slots by (remaining time, arrival number), the same order the batch
+    // SJF and SRTF heaps use
+    private final class SlotHeap {
+        private int[] items = new int[16];
+        private int size;
+
+        void add(int slot) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(slot, items[parent])) {
+                    break;
+                }
+                items[i] = items[parent];
+                i = parent;
+            }
+            items[i] = slot;
+        }
+
+        int poll() {
+            int top = items[0];
+            int last = items[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && less(items[child + 1], items[child])) {
+                    child++;
+                }
+                if (!less(items[child], last)) {
+                    break;
+                }
+                items[i] = items[child];
+                i = child;
+            }
+            items[i] = last;
+            return top;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        private boolean less(int a, int b) {
+            int ra = remainingTimes[a];
+            int rb = remainingTimes[b];
+            return ra != rb ? ra < rb : sequence[a] < sequence[b];
+        }
+    }
+}
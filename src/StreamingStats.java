@@ -0,0 +1,50 @@
+// Point-in-time figures from a StreamingScheduler. Immutable, so it can be handed to another
+// thread (e.g. the Event Dispatch Thread) while the stream keeps running.
+public final class StreamingStats {
+    final long time;
+    final long arrived;
+    final long completed;
+    final int queued;         // arrived but not completed: waiting or running
+    final double meanWaitingTime;
+    final long p50WaitingTime;
+    final long p90WaitingTime;
+    final long p99WaitingTime;
+    final long maxWaitingTime;
+    final double meanTurnaroundTime;
+    final long p50TurnaroundTime;
+    final long p90TurnaroundTime;
+    final long p99TurnaroundTime;
+    final long maxTurnaroundTime;
+    final double utilization; // busy share of the time since the first arrival, 0..1
+    final double throughput;  // completions per time unit since the first arrival
+
+    StreamingStats(long time, long arrived, long completed, int queued,
+                   LatencyHistogram waiting, LatencyHistogram turnaround, double utilization, double throughput) {
+        this.time = time;
+        this.arrived = arrived;
+        this.completed = completed;
+        this.queued = queued;
+        this.meanWaitingTime = waiting.mean();
+        this.p50WaitingTime = waiting.percentile(0.50);
+        this.p90WaitingTime = waiting.percentile(0.90);
+        this.p99WaitingTime = waiting.percentile(0.99);
+        this.maxWaitingTime = waiting.max();
+        this.meanTurnaroundTime = turnaround.mean();
+        this.p50TurnaroundTime = turnaround.percentile(0.50);
+        this.p90TurnaroundTime = turnaround.percentile(0.90);
+        this.p99TurnaroundTime = turnaround.percentile(0.99);
+        this.maxTurnaroundTime = turnaround.max();
+        this.utilization = utilization;
+        this.throughput = throughput;
+    }
+
+    // One line for a console that keeps printing updates
+    public String summaryLine() {
+        return String.format("t=%d done=%d queued=%d | WT mean %.2f p50 %d p90 %d p99 %d max %d"
+                        + " | TAT mean %.2f p50 %d p90 %d p99 %d max %d | util %.1f%% | %.4f/unit",
+                time, completed, queued,
+                meanWaitingTime, p50WaitingTime, p90WaitingTime, p99WaitingTime, maxWaitingTime,
+                meanTurnaroundTime, p50TurnaroundTime, p90TurnaroundTime, p99TurnaroundTime, maxTurnaroundTime,
+                utilization * 100, throughput);
+    }
+}
@@ -0,0 +1,135 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.IntConsumer;
+
+// Line plot of a QuantumSweep: average waiting and turnaround time on the left axis and context
+// switches on the right one, against the quantum. Clicking picks a quantum.
+public class SweepPlotPanel extends JPanel {
+    private static final int MARGIN = 60;
+    private static final Color WAITING_COLOR = new Color(50, 90, 200);
+    private static final Color TURNAROUND_COLOR = new Color(40, 160, 80);
+    private static final Color SWITCHES_COLOR = new Color(210, 90, 40);
+
+    private QuantumSweep sweep;
+    private int selectedQuantum;
+
+    public SweepPlotPanel(IntConsumer onSelect) {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (sweep != null) {
+                    onSelect.accept(quantumAt(e.getX()));
+                }
+            }
+        });
+    }
+
+    public void setSweep(QuantumSweep sweep) {
+        this.sweep = sweep;
+        repaint();
+    }
+
+    public void setSelectedQuantum(int timeQuantum) {
+        selectedQuantum = timeQuantum;
+        repaint();
+    }
+
+    private int plotWidth() {
+        return Math.max(getWidth() - 2 * MARGIN, 1);
+    }
+
+    private int plotHeight() {
+        return Math.max(getHeight() - 2 * MARGIN, 1);
+    }
+
+    private int xOf(int timeQuantum) {
+        int span = Math.max(sweep.maxQuantum() - sweep.minQuantum(), 1);
+        return MARGIN + (int) ((long) (timeQuantum - sweep.minQuantum()) * plotWidth() / span);
+    }
+
+    private int quantumAt(int x) {
+        int span = sweep.maxQuantum() - sweep.minQuantum();
+        int q = sweep.minQuantum() + (int) Math.round((double) (x - MARGIN) * span / plotWidth());
+        return Math.max(sweep.minQuantum(), Math.min(q, sweep.maxQuantum()));
+    }
+
+    private int yOf(double value, double max) {
+        return MARGIN + plotHeight() - (int) (value / max * plotHeight());
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (sweep == null) {
+            return;
+        }
+        int minQ = sweep.minQuantum();
+        int maxQ = sweep.maxQuantum();
+
+        // Axis ranges
+        double maxTime = 1;
+        double maxSwitches = 1;
+        for (int q = minQ; q <= maxQ; q++) {
+            ScheduleMetrics m = sweep.metrics(q);
+            maxTime = Math.max(maxTime, Math.max(m.averageWaitingTime(), m.averageTurnaroundTime()));
+            maxSwitches = Math.max(maxSwitches, m.contextSwitches());
+        }
+
+        // Axes and labels
+        int bottom = MARGIN + plotHeight();
+        int right = MARGIN + plotWidth();
+        g.setColor(Color.BLACK);
+        g.drawLine(MARGIN, bottom, right, bottom);
+        g.drawLine(MARGIN, MARGIN, MARGIN, bottom);
+        g.drawLine(right, MARGIN, right, bottom);
+        g.drawString(String.valueOf(minQ), MARGIN, bottom + 15);
+        g.drawString(String.valueOf(maxQ), right - 20, bottom + 15);
+        g.drawString("Time Quantum", MARGIN + plotWidth() / 2 - 35, bottom + 30);
+        g.drawString(String.format("%.0f ms", maxTime), 5, MARGIN);
+        g.drawString(String.valueOf((long) maxSwitches), right + 5, MARGIN);
+
+        // Legend
+        g.setColor(WAITING_COLOR);
+        g.drawString("Avg Waiting Time", MARGIN, MARGIN - 25);
+        g.setColor(TURNAROUND_COLOR);
+        g.drawString("Avg Turnaround Time", MARGIN + 130, MARGIN - 25);
+        g.setColor(SWITCHES_COLOR);
+        g.drawString("Context Switches (right axis)", MARGIN + 280, MARGIN - 25);
+
+        // One point per quantum; with more quanta than pixels the lines simply overdraw
+        int prevX = -1, prevWT = 0, prevTAT = 0, prevCS = 0;
+        for (int q = minQ; q <= maxQ; q++) {
+            ScheduleMetrics m = sweep.metrics(q);
+            int x = xOf(q);
+            int wt = yOf(m.averageWaitingTime(), maxTime);
+            int tat = yOf(m.averageTurnaroundTime(), maxTime);
+            int cs = yOf(m.contextSwitches(), maxSwitches);
+            if (prevX >= 0) {
+                g.setColor(WAITING_COLOR);
+                g.drawLine(prevX, prevWT, x, wt);
+                g.setColor(TURNAROUND_COLOR);
+                g.drawLine(prevX, prevTAT, x, tat);
+                g.setColor(SWITCHES_COLOR);
+                g.drawLine(prevX, prevCS, x, cs);
+            }
+            prevX = x;
+            prevWT = wt;
+            prevTAT = tat;
+            prevCS = cs;
+        }
+
+        // Selected quantum
+        if (sweep.covers(selectedQuantum)) {
+            ScheduleMetrics m = sweep.metrics(selectedQuantum);
+            int x = xOf(selectedQuantum);
+            g.setColor(Color.GRAY);
+            g.drawLine(x, MARGIN, x, bottom);
+            g.setColor(Color.BLACK);
+            g.drawString(String.format("q=%d  WT %.2f  TAT %.2f  CS %d", selectedQuantum,
+                    m.averageWaitingTime(), m.averageTurnaroundTime(), m.contextSwitches()),
+                    Math.min(x + 5, right - 230), MARGIN - 8);
+        }
+    }
+}
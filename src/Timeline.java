@@ -0,0 +1,146 @@
+import java.util.Arrays;
+
+// Gantt timeline stored column-wise: slice i ran process processIndex(i) from startTime(i) to
+// endTime(i). Slices are in time order and never overlap; holes between them are idle CPU time.
+// Policies fill it through append(), which merges back-to-back slices of the same process, and
+// hand it over to a ScheduleResult, after which it is read-only. A policy resuming from a
+// checkpoint starts from resume(), which shares the arrays when it can (see Workload.append).
+public final class Timeline {
+    private int[] processIndices;
+    private int[] startTimes;
+    private int[] endTimes;
+    private int size;
+    private int sharedSlices;  // leading slices also visible to another timeline: never modified
+    private boolean extended;  // guarded by this; true once a resume() shares these arrays
+
+    Timeline(int expectedSlices) {
+        int capacity = Math.max(expectedSlices, 4);
+        processIndices = new int[capacity];
+        startTimes = new int[capacity];
+        endTimes = new int[capacity];
+    }
+
+    private Timeline(int[] processIndices, int[] startTimes, int[] endTimes, int size, int sharedSlices) {
+        this.processIndices = processIndices;
+        this.startTimes = startTimes;
+        this.endTimes = endTimes;
+        this.size = size;
+        this.sharedSlices = sharedSlices;
+    }
+
+    // A writable timeline holding the first 'slices' slices of this one, the last of them ending
+    // at lastEnd. Continuing from the very end shares the arrays; anything else copies the prefix.
+    Timeline resume(int slices, int lastEnd, int expectedExtraSlices) {
+        boolean atEnd = slices == size && (size == 0 || endTimes[size - 1] == lastEnd);
+        if (atEnd && claimExtension()) {
+            return new Timeline(processIndices, startTimes, endTimes, size, size);
+        }
+        int capacity = Math.max(slices + expectedExtraSlices, 4);
+        Timeline copy = new Timeline(Arrays.copyOf(processIndices, capacity), Arrays.copyOf(startTimes, capacity),
+                Arrays.copyOf(endTimes, capacity), slices, 0);
+        if (slices > 0) {
+            copy.endTimes[slices - 1] = lastEnd;
+        }
+        return copy;
+    }
+
+    private synchronized boolean claimExtension() {
+        boolean free = !extended;
+        extended = true;
+        return free;
+    }
+
+    // Records that processIndex held the CPU from start to end; zero-length runs are dropped
+    void append(int processIndex, int start, int end) {
+        if (end <= start) {
+            return;
+        }
+        if (size > 0 && processIndices[size - 1] == processIndex && endTimes[size - 1] == start) {
+            if (size > sharedSlices) {
+                endTimes[size - 1] = end;
+                return;
+            }
+            // The slice to extend is shared with the timeline we resumed from: stop sharing
+            grow();
+            endTimes[size - 1] = end;
+            return;
+        }
+        if (size == processIndices.length) {
+            grow();
+        }
+        processIndices[size] = processIndex;
+        startTimes[size] = start;
+        endTimes[size] = end;
+        size++;
+    }
+
+    // Reallocates with room to spare; the copy is private to this timeline
+    private void grow() {
+        int capacity = size + (size >> 1) + 4;
+        processIndices = Arrays.copyOf(processIndices, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        endTimes = Arrays.copyOf(endTimes, capacity);
+        sharedSlices = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int processIndex(int slice) {
+        return processIndices[slice];
+    }
+
+    public int startTime(int slice) {
+        return startTimes[slice];
+    }
+
+    public int endTime(int slice) {
+        return endTimes[slice];
+    }
+
+    // Time the last slice ends, 0 for an empty timeline
+    public int makespan() {
+        return size == 0 ? 0 : endTimes[size - 1];
+    }
+
+    // Index of the first slice that ends after time, or size() if none does
+    public int firstSliceEndingAfter(int time) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (endTimes[mid] <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Index of the slice running at time, or -1 if the CPU is idle then
+    public int sliceAt(int time) {
+        int slice = firstSliceEndingAfter(time);
+        return slice < size && startTimes[slice] <= time ? slice : -1;
+    }
+
+    // Which process was running at time, or -1 if the CPU is idle then
+    public int processAt(int time) {
+        int slice = sliceAt(time);
+        return slice == -1 ? -1 : processIndices[slice];
+    }
+
+    // Total time the CPU was busy
+    public long busyTime() {
+        long busy = 0;
+        for (int i = 0; i < size; i++) {
+            busy += endTimes[i] - startTimes[i];
+        }
+        return busy;
+    }
+}
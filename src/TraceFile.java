@@ -0,0 +1,313 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Reads and writes workload traces. Both formats are read through memory-mapped FileChannels
+// straight into the workload's int columns, with no String or object per record.
+//
+// CSV: one "arrival,burst" record per line, both non-negative ints. Blank lines, '#' comments and
+// a header line are skipped. Processes are named P1..Pn in file order.
+//
+// Binary: a 16 byte header (magic "PSTR", int version, long record count) followed by the
+// arrival column and then the burst column, little-endian ints.
+public final class TraceFile {
+    static final int MAGIC = 0x52545350; // "PSTR" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    private static final long MAP_CHUNK = 1L << 30; // a single mapping cannot exceed 2 GB
+
+    private TraceFile() {
+    }
+
+    // Receives records one by one as a CSV stream is parsed
+    public interface RecordSink {
+        void accept(int arrivalTime, int burstTime);
+    }
+
+    // Picks the format from the file's first bytes
+    public static Workload read(Path path) throws IOException {
+        return isBinary(path) ? readBinary(path) : readCsv(path);
+    }
+
+    private static boolean isBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (head.hasRemaining() && channel.read(head) >= 0) {
+                // keep reading until 4 bytes or end of file
+            }
+            return head.position() == 4 && head.getInt(0) == MAGIC;
+        }
+    }
+
+    public static Workload readBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_BYTES, channel.size()))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.limit() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IOException(path + ": not a binary trace");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException(path + ": unsupported trace version " + header.getInt(4));
+            }
+            long count = header.getLong(8);
+            if (count < 0 || count > Integer.MAX_VALUE - 8 || channel.size() < HEADER_BYTES + 8 * count) {
+                throw new IOException(path + ": truncated trace (" + count + " records declared)");
+            }
+            int n = (int) count;
+            int[] arrivalTimes = new int[n];
+            int[] burstTimes = new int[n];
+            readInts(channel, HEADER_BYTES, arrivalTimes);
+            readInts(channel, HEADER_BYTES + 4L * n, burstTimes);
+            try {
+                return Workload.adopt(arrivalTimes, burstTimes);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Bulk-copies a column, one mapping per chunk
+    private static void readInts(FileChannel channel, long offset, int[] into) throws IOException {
+        int perChunk = (int) (MAP_CHUNK / 4);
+        for (int done = 0; done < into.length; ) {
+            int count = Math.min(perChunk, into.length - done);
+            IntBuffer ints = channel.map(FileChannel.MapMode.READ_ONLY, offset + 4L * done, 4L * count)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            ints.get(into, done, count);
+            done += count;
+        }
+    }
+
+    public static void writeBinary(Workload workload, Path path) throws IOException {
+        int n = workload.size();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN).putInt(MAGIC).putInt(VERSION).putLong(n);
+            int perChunk = (int) (MAP_CHUNK / 4);
+            for (int column = 0; column < 2; column++) {
+                long columnStart = HEADER_BYTES + 4L * n * column;
+                for (int done = 0; done < n; ) {
+                    int count = Math.min(perChunk, n - done);
+                    IntBuffer ints = channel.map(FileChannel.MapMode.READ_WRITE, columnStart + 4L * done, 4L * count)
+                            .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                    for (int i = 0; i < count; i++) {
+                        ints.put(column == 0 ? workload.arrivalTime(done + i) : workload.burstTime(done + i));
+                    }
+                    done += count;
+                }
+            }
+        }
+    }
+
+    // Writes "arrival,burst" lines through one buffer, formatting the numbers without Strings
+    public static void writeCsv(Workload workload, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+            buffer.put("arrival,burst\n".getBytes(StandardCharsets.US_ASCII));
+            for (int i = 0; i < workload.size(); i++) {
+                if (buffer.remaining() < 24) { // two ints, a comma and a newline
+                    drain(channel, buffer);
+                }
+                putDigits(buffer, workload.arrivalTime(i));
+                buffer.put((byte) ',');
+                putDigits(buffer, workload.burstTime(i));
+                buffer.put((byte) '\n');
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    // A workload's times are never negative
+    private static void putDigits(ByteBuffer buffer, int value) {
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public static Workload readCsv(Path path) throws IOException {
+        return readCsv(path, MAP_CHUNK);
+    }
+
+    // Maps the file chunkSize bytes at a time; tests use small chunks to cut records in two
+    static Workload readCsv(Path path, long chunkSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Workload.Builder builder = new Workload.Builder(1 << 16);
+            CsvParser parser = new CsvParser(path.toString(), builder::add);
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(chunkSize, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = parser.parse(buffer, length, last);
+                if (consumed == 0) {
+                    throw new IOException(path + ":" + parser.line + ": line too long");
+                }
+                position += consumed; // the next mapping starts at the first unfinished line
+            }
+            try {
+                return builder.build();
+            } catch (IllegalArgumentException e) {
+                throw new IOException(path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Parses CSV records from a stream as they come in, e.g. a pipe from "tail -f", handing each
+    // to sink. Returns at the end of the stream.
+    public static void stream(InputStream in, String name, RecordSink sink) throws IOException {
+        byte[] bytes = new byte[1 << 16];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        CsvParser parser = new CsvParser(name, sink);
+        int length = 0;
+        while (true) {
+            int read = in.read(bytes, length, bytes.length - length);
+            if (read < 0) {
+                parser.parse(buffer, length, true);
+                return;
+            }
+            length += read;
+            int consumed = parser.parse(buffer, length, false);
+            // Keep the unfinished line at the front for the next read
+            System.arraycopy(bytes, consumed, bytes, 0, length - consumed);
+            length -= consumed;
+            if (length == bytes.length) {
+                throw new IOException(name + ":" + parser.line + ": line too long");
+            }
+        }
+    }
+
+    private static final class CsvParser {
+        final String name;
+        final RecordSink sink;
+        long line = 1;
+        private ByteBuffer buffer;
+        private int pos;
+        private int end;
+
+        CsvParser(String name, RecordSink sink) {
+            this.name = name;
+            this.sink = sink;
+        }
+
+        // Parses every complete line in buffer[0, length) and returns how many bytes that was.
+        // The last chunk of the file also ends the last line.
+        int parse(ByteBuffer buffer, int length, boolean last) throws IOException {
+            this.buffer = buffer;
+            int lineStart = 0;
+            while (lineStart < length) {
+                int lineEnd = lineStart;
+                while (lineEnd < length && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                if (lineEnd == length && !last) {
+                    return lineStart;
+                }
+                pos = lineStart;
+                end = lineEnd;
+                parseLine();
+                line++;
+                lineStart = lineEnd + 1;
+            }
+            return length;
+        }
+
+        private void parseLine() throws IOException {
+            skipBlanks();
+            if (pos == end || buffer.get(pos) == '#') {
+                return;
+            }
+            if (!isNumberStart()) {
+                if (line == 1) {
+                    return; // header, e.g. "arrival,burst"
+                }
+                throw error("expected arrival,burst");
+            }
+            int arrival = parseInt();
+            if (arrival < 0) {
+                throw error("negative arrival time " + arrival);
+            }
+            skipBlanks();
+            if (pos == end || buffer.get(pos) != ',') {
+                throw error("expected ',' after the arrival time");
+            }
+            pos++;
+            skipBlanks();
+            int burst = parseInt();
+            if (burst < 0) {
+                throw error("negative burst time " + burst);
+            }
+            skipBlanks();
+            if (pos != end) {
+                throw error("unexpected text after the burst time");
+            }
+            sink.accept(arrival, burst);
+        }
+
+        // Digits with an optional '-', so a negative time gets its own error rather than a syntax one
+        private int parseInt() throws IOException {
+            if (!isNumberStart()) {
+                throw error("expected a number");
+            }
+            boolean negative = buffer.get(pos) == '-';
+            if (negative) {
+                pos++;
+            }
+            long value = 0;
+            while (pos < end && isDigit(buffer.get(pos))) {
+                value = value * 10 + (buffer.get(pos) - '0');
+                if (value > Integer.MAX_VALUE) {
+                    throw error("number too large");
+                }
+                pos++;
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        private boolean isNumberStart() {
+            if (pos < end && buffer.get(pos) == '-') {
+                return pos + 1 < end && isDigit(buffer.get(pos + 1));
+            }
+            return pos < end && isDigit(buffer.get(pos));
+        }
+
+        private void skipBlanks() {
+            while (pos < end) {
+                byte b = buffer.get(pos);
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private IOException error(String message) {
+            return new IOException(name + ":" + line + ": " + message);
+        }
+    }
+}
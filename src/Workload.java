@@ -0,0 +1,395 @@
+import java.util.Arrays;
+import java.util.List;
+
+// Immutable snapshot of the processes to schedule, stored column-wise: process i is index i in
+// every array. PIDs are only needed for display, so they sit in an optional side table; without
+// one (or for a missing entry) process i is shown as "P" + (i + 1). Nice values (-20..19, only
+// weighed by CFS) are optional the same way and default to 0.
+//
+// The engines keep time in an int that only moves forward, so arrival and burst times must not be
+// negative, and a workload whose last arrival plus total burst time does not fit an int (the
+// latest any schedule can finish) is rejected when it is built.
+//
+// append() returns a longer workload that reuses these arrays when it can. That is safe because
+// a workload only ever reads its first size() entries; the first append writes past them in place
+// and any later append from the same workload copies instead.
+public final class Workload {
+    private final String[] pids;
+    private final byte[] nices;
+    private final int[] arrivalTimes;
+    private final int[] burstTimes;
+    private final int size;
+    private final int maxArrival;        // with totalBurst, bounds every completion time
+    private final long totalBurst;
+    private volatile int[] arrivalOrder; // computed on first use, shared read-only afterwards
+    private long fingerprint;            // valid once hasFingerprint is set
+    private volatile boolean hasFingerprint;
+    private boolean columnsExtended;     // guarded by this
+    private boolean orderExtended;       // guarded by this
+
+    public Workload(String[] pids, int[] arrivalTimes, int[] burstTimes) {
+        this(sameLength(pids, arrivalTimes, burstTimes).clone(), burstTimes.clone(), pids == null ? null : pids.clone(),
+                null, arrivalTimes.length, null);
+    }
+
+    private static int[] sameLength(String[] pids, int[] arrivalTimes, int[] burstTimes) {
+        if (arrivalTimes.length != burstTimes.length || (pids != null && pids.length != arrivalTimes.length)) {
+            throw new IllegalArgumentException("pid, arrival and burst arrays must have the same length");
+        }
+        return arrivalTimes;
+    }
+
+    // Adopts the arrays as-is; callers must not touch the first size entries afterwards
+    private Workload(int[] arrivalTimes, int[] burstTimes, String[] pids, byte[] nices, int size, int[] arrivalOrder) {
+        this(arrivalTimes, burstTimes, pids, nices, size, arrivalOrder, max(arrivalTimes, size), sum(burstTimes, size));
+    }
+
+    private Workload(int[] arrivalTimes, int[] burstTimes, String[] pids, byte[] nices, int size, int[] arrivalOrder,
+                     int maxArrival, long totalBurst) {
+        checkClock(maxArrival, totalBurst);
+        this.pids = pids;
+        this.nices = nices;
+        this.arrivalTimes = arrivalTimes;
+        this.burstTimes = burstTimes;
+        this.size = size;
+        this.maxArrival = maxArrival;
+        this.totalBurst = totalBurst;
+        this.arrivalOrder = arrivalOrder;
+    }
+
+    private static void checkClock(int maxArrival, long totalBurst) {
+        if (maxArrival + totalBurst > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Schedule would overflow the clock: last arrival " + maxArrival
+                    + " plus total burst time " + totalBurst + " exceeds " + Integer.MAX_VALUE);
+        }
+    }
+
+    // Latest arrival; also checks that none is negative
+    private static int max(int[] arrivalTimes, int size) {
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            if (arrivalTimes[i] < 0) {
+                throw new IllegalArgumentException("Arrival time of process " + (i + 1) + " must not be negative, got "
+                        + arrivalTimes[i]);
+            }
+            max = Math.max(max, arrivalTimes[i]);
+        }
+        return max;
+    }
+
+    // Total burst time; checked per process before summing, so a negative burst cannot offset others
+    private static long sum(int[] burstTimes, int size) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            if (burstTimes[i] < 0) {
+                throw new IllegalArgumentException("Burst time of process " + (i + 1) + " must not be negative, got "
+                        + burstTimes[i]);
+            }
+            sum += burstTimes[i];
+        }
+        return sum;
+    }
+
+    // Takes the arrays over without copying, for loaders that filled them just for this workload
+    static Workload adopt(int[] arrivalTimes, int[] burstTimes) {
+        return adopt(arrivalTimes, burstTimes, null);
+    }
+
+    // Same, with a nice column (null for all 0)
+    static Workload adopt(int[] arrivalTimes, int[] burstTimes, byte[] nices) {
+        if (arrivalTimes.length != burstTimes.length || (nices != null && nices.length != arrivalTimes.length)) {
+            throw new IllegalArgumentException("arrival, burst and nice arrays must have the same length");
+        }
+        return new Workload(arrivalTimes, burstTimes, null, nices, arrivalTimes.length, null);
+    }
+
+    public static Workload of(List<Process> processes) {
+        Builder builder = new Builder(processes.size());
+        for (Process p : processes) {
+            builder.add(p.pid, p.arrivalTime, p.burstTime, p.nice);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String pid(int i) {
+        String pid = pids == null ? null : pids[i];
+        return pid != null ? pid : "P" + (i + 1);
+    }
+
+    public int arrivalTime(int i) {
+        return arrivalTimes[i];
+    }
+
+    public int burstTime(int i) {
+        return burstTimes[i];
+    }
+
+    public int nice(int i) {
+        return nices == null ? 0 : nices[i];
+    }
+
+    // Whether any process was given its own PID / a nice value, i.e. the side tables exist
+    boolean hasPids() {
+        return pids != null;
+    }
+
+    boolean hasNices() {
+        return nices != null;
+    }
+
+    static void checkTimes(int arrivalTime, int burstTime) {
+        if (arrivalTime < 0) {
+            throw new IllegalArgumentException("Arrival time must not be negative, got " + arrivalTime);
+        }
+        if (burstTime < 0) {
+            throw new IllegalArgumentException("Burst time must not be negative, got " + burstTime);
+        }
+    }
+
+    static void checkNice(int nice) {
+        if (nice < -20 || nice > 19) {
+            throw new IllegalArgumentException("Nice value must be in -20..19, got " + nice);
+        }
+    }
+
+    // This workload plus one more process at index size(). Amortized O(1): the columns are shared
+    // with this workload, and so is the cached arrival order when the newcomer arrives last.
+    public Workload append(String pid, int arrivalTime, int burstTime) {
+        return append(pid, arrivalTime, burstTime, 0);
+    }
+
+    public Workload append(String pid, int arrivalTime, int burstTime, int nice) {
+        checkTimes(arrivalTime, burstTime);
+        checkNice(nice);
+        checkClock(Math.max(maxArrival, arrivalTime), totalBurst + burstTime); // before touching shared columns
+        int n = size;
+        int[] arrivals = arrivalTimes;
+        int[] bursts = burstTimes;
+        String[] names = pids;
+        byte[] niceValues = nices;
+        if (n == arrivals.length || !claimColumns()) {
+            int capacity = n + (n >> 1) + 16;
+            arrivals = Arrays.copyOf(arrivals, capacity);
+            bursts = Arrays.copyOf(bursts, capacity);
+            names = names == null ? null : Arrays.copyOf(names, capacity);
+            niceValues = niceValues == null ? null : Arrays.copyOf(niceValues, capacity);
+        }
+        arrivals[n] = arrivalTime;
+        bursts[n] = burstTime;
+        if (pid != null) {
+            if (names == null) names = new String[arrivals.length];
+            names[n] = pid;
+        }
+        if (niceValues != null || nice != 0) {
+            if (niceValues == null) niceValues = new byte[arrivals.length];
+            niceValues[n] = (byte) nice;
+        }
+        Workload extended = new Workload(arrivals, bursts, names, niceValues, n + 1, appendToOrder(arrivalTime),
+                Math.max(maxArrival, arrivalTime), totalBurst + burstTime);
+        if (hasFingerprint) {
+            extended.fingerprint = mix(fingerprint, pid, arrivalTime, burstTime, nice);
+            extended.hasFingerprint = true;
+        }
+        return extended;
+    }
+
+    // 64-bit hash of every process's pid, arrival, burst and nice, in index order. Computed once
+    // in O(n); a workload from append() extends its parent's in O(1) when that one is known.
+    public long fingerprint() {
+        if (!hasFingerprint) {
+            long h = 0;
+            for (int i = 0; i < size; i++) {
+                h = mix(h, pids == null ? null : pids[i], arrivalTimes[i], burstTimes[i], nice(i));
+            }
+            fingerprint = h;
+            hasFingerprint = true;
+        }
+        return fingerprint;
+    }
+
+    private static long mix(long h, String pid, int arrivalTime, int burstTime, int nice) {
+        h = scramble(h ^ (((long) arrivalTime << 32) | (burstTime & 0xFFFFFFFFL)));
+        return scramble(h ^ (((long) nice << 32) | ((pid == null ? 0 : pid.hashCode()) & 0xFFFFFFFFL)));
+    }
+
+    // SplitMix64 finalizer: every input bit affects every output bit
+    private static long scramble(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private synchronized boolean claimColumns() {
+        boolean free = !columnsExtended;
+        columnsExtended = true;
+        return free;
+    }
+
+    private synchronized boolean claimOrder() {
+        boolean free = !orderExtended;
+        orderExtended = true;
+        return free;
+    }
+
+    // Arrival order with process size() added, or null if this workload's order was never needed
+    private int[] appendToOrder(int arrivalTime) {
+        int[] order = arrivalOrder;
+        int n = size;
+        if (order == null) {
+            return null;
+        }
+        if (n == 0 || arrivalTime >= arrivalTimes[order[n - 1]]) {
+            // Arrives last (ties go to the higher index): just extend
+            if (n == order.length || !claimOrder()) {
+                order = Arrays.copyOf(order, n + (n >> 1) + 16);
+            }
+            order[n] = n;
+            return order;
+        }
+        // Goes after every process arriving at or before it
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arrivalTimes[order[mid]] <= arrivalTime) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int[] inserted = new int[n + (n >> 1) + 16];
+        System.arraycopy(order, 0, inserted, 0, lo);
+        inserted[lo] = n;
+        System.arraycopy(order, lo, inserted, lo + 1, n - lo);
+        return inserted;
+    }
+
+    // True if the first prefix.size() processes have the same arrival and burst times as in prefix
+    boolean startsWith(Workload prefix) {
+        int p = prefix.size;
+        if (p > size) {
+            return false;
+        }
+        if (prefix.arrivalTimes == arrivalTimes && prefix.burstTimes == burstTimes) {
+            return true; // appended in place, so the first p entries are the very same
+        }
+        return Arrays.equals(arrivalTimes, 0, p, prefix.arrivalTimes, 0, p)
+                && Arrays.equals(burstTimes, 0, p, prefix.burstTimes, 0, p);
+    }
+
+    // Earliest arrival among processes from index 'from' on, Integer.MAX_VALUE if there are none
+    int minArrivalFrom(int from) {
+        int min = Integer.MAX_VALUE;
+        for (int i = from; i < size; i++) {
+            min = Math.min(min, arrivalTimes[i]);
+        }
+        return min;
+    }
+
+    // Process indices by arrival time, equal arrivals in index order. The array is cached and
+    // shared between policies (and workloads appended to this one), so it must be treated as
+    // read-only, and only its first size() entries belong to this workload.
+    int[] arrivalOrder() {
+        int[] order = arrivalOrder;
+        if (order == null) {
+            order = sortByArrival();
+            arrivalOrder = order;
+        }
+        return order;
+    }
+
+    private int[] sortByArrival() {
+        int n = size;
+        int[] order = new int[n];
+        boolean sorted = true;
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            if (i > 0 && arrivalTimes[i] < arrivalTimes[i - 1]) sorted = false;
+        }
+        if (sorted) {
+            return order; // traces are usually already in arrival order
+        }
+        // (arrival, index) packed into one long, so a primitive sort gives the stable order
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = LongHeap.pack(arrivalTimes[i], i);
+        }
+        Arrays.parallelSort(keys);
+        for (int i = 0; i < n; i++) {
+            order[i] = LongHeap.tie(keys[i]);
+        }
+        return order;
+    }
+
+    // Grows the columns in place so large workloads can be assembled without a Process per entry
+    public static final class Builder {
+        private String[] pids;
+        private byte[] nices;
+        private int[] arrivalTimes;
+        private int[] burstTimes;
+        private int size;
+
+        public Builder() {
+            this(16);
+        }
+
+        public Builder(int expectedSize) {
+            arrivalTimes = new int[Math.max(expectedSize, 1)];
+            burstTimes = new int[arrivalTimes.length];
+        }
+
+        public Builder add(int arrivalTime, int burstTime) {
+            checkTimes(arrivalTime, burstTime);
+            if (size == arrivalTimes.length) {
+                int capacity = size + (size >> 1) + 1;
+                arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+                burstTimes = Arrays.copyOf(burstTimes, capacity);
+                if (pids != null) pids = Arrays.copyOf(pids, capacity);
+                if (nices != null) nices = Arrays.copyOf(nices, capacity);
+            }
+            arrivalTimes[size] = arrivalTime;
+            burstTimes[size] = burstTime;
+            size++;
+            return this;
+        }
+
+        public Builder add(String pid, int arrivalTime, int burstTime) {
+            add(arrivalTime, burstTime);
+            if (pid != null) {
+                if (pids == null) pids = new String[arrivalTimes.length];
+                pids[size - 1] = pid;
+            }
+            return this;
+        }
+
+        public Builder add(String pid, int arrivalTime, int burstTime, int nice) {
+            checkNice(nice);
+            add(pid, arrivalTime, burstTime);
+            if (nice != 0) {
+                if (nices == null) nices = new byte[arrivalTimes.length];
+                nices[size - 1] = (byte) nice;
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Hands the columns over to the workload; the builder is empty afterwards
+        public Workload build() {
+            Workload workload = new Workload(arrivalTimes, burstTimes, pids, nices, size, null);
+            pids = null;
+            nices = null;
+            arrivalTimes = new int[1];
+            burstTimes = new int[1];
+            size = 0;
+            return workload;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Synthetic workloads for stress tests, fully determined by the seed. The processes are cut into
+// fixed blocks of BLOCK_SIZE, each drawing from its own SplittableRandom split off the seed's in
+// block order, so the blocks can be generated on any number of threads and still give the same
+// workload. Arrival gaps are summed per block first and the block offsets added afterwards.
+//
+// Arrivals are a Poisson process, or bursty: runs of closely spaced arrivals (BURST_LENGTH on
+// average, BURSTINESS times denser) separated by long gaps, with the same mean gap overall. Burst
+// times are exponential, Pareto (heavy-tailed, shape PARETO_SHAPE) or bimodal (mostly short jobs,
+// a few long ones), with the given mean and at least 1. Nice values, when asked for, are uniform
+// in -niceSpread..niceSpread (capped at 19).
+//
+// The schedule of any policy ends by the last arrival plus the total burst time, which has to fit
+// the engines' int clock: generate() rejects parameters that would go past it.
+public final class WorkloadGenerator {
+    static final int BLOCK_SIZE = 1 << 16;
+    static final int BURST_LENGTH = 16;
+    static final int BURSTINESS = 8;
+    static final double PARETO_SHAPE = 1.5;
+    static final double LONG_JOB_SHARE = 0.1;   // bimodal: fraction of long jobs
+    static final double SHORT_JOB_SCALE = 0.5;  // bimodal: short jobs' mean as a share of the overall mean
+    static final int MAX_BURST = 1 << 24;       // caps one Pareto outlier; the total is checked per workload
+
+    public enum Arrivals { POISSON, BURSTY }
+
+    public enum Bursts { EXPONENTIAL, PARETO, BIMODAL }
+
+    private final long seed;
+    private final Arrivals arrivals;
+    private final double meanGap;
+    private final Bursts bursts;
+    private final double meanBurst;
+    private final int niceSpread;
+
+    public WorkloadGenerator(long seed, Arrivals arrivals, double meanGap, Bursts bursts, double meanBurst, int niceSpread) {
+        if (!(meanGap >= 0) || Double.isInfinite(meanGap)) {
+            throw new IllegalArgumentException("Mean arrival gap must be a finite number >= 0, got " + meanGap);
+        }
+        if (!(meanBurst >= 1) || meanBurst > MAX_BURST) {
+            throw new IllegalArgumentException("Mean burst time must be 1.." + MAX_BURST + ", got " + meanBurst);
+        }
+        if (niceSpread < 0 || niceSpread > 20) {
+            throw new IllegalArgumentException("Nice spread must be 0..20, got " + niceSpread);
+        }
+        this.seed = seed;
+        this.arrivals = arrivals;
+        this.meanGap = meanGap;
+        this.bursts = bursts;
+        this.meanBurst = meanBurst;
+        this.niceSpread = niceSpread;
+    }
+
+    // Parameters in the form the CLI takes them, e.g. "seed=42 arrivals=bursty gap=2.0 ..."
+    public String description() {
+        return "seed=" + seed + " arrivals=" + arrivals.name().toLowerCase() + " gap=" + meanGap
+                + " bursts=" + bursts.name().toLowerCase() + " burst=" + meanBurst + " nice=" + niceSpread;
+    }
+
+    public Workload generate(int processes) {
+        return generate(processes, ForkJoinPool.commonPool());
+    }
+
+    // Same workload whatever the pool's parallelism. Interrupting the calling thread cancels it.
+    public Workload generate(int processes, ForkJoinPool pool) {
+        if (processes < 0) {
+            throw new IllegalArgumentException("Process count must not be negative, got " + processes);
+        }
+        int blocks = (processes + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int[] arrivalTimes = new int[processes];
+        int[] burstTimes = new int[processes];
+        byte[] nices = niceSpread == 0 ? null : new byte[processes];
+        long[] blockSpans = new long[blocks]; // arrival of each block's last process, relative to the block
+        long[] blockBursts = new long[blocks];
+
+        // 1. Every block draws its own gaps, bursts and nices
+        SplittableRandom root = new SplittableRandom(seed);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int b = 0; b < blocks; b++) {
+            int block = b;
+            SplittableRandom random = root.split();
+            tasks.add(pool.submit(() -> blockSpans[block] = fillBlock(random, block, arrivalTimes, burstTimes, nices, blockBursts)));
+        }
+        awaitAll(tasks);
+
+        // 2. Shift each block by the arrivals before it
+        long[] offsets = new long[blocks];
+        for (int b = 1; b < blocks; b++) {
+            offsets[b] = offsets[b - 1] + blockSpans[b - 1];
+        }
+        if (blocks > 0 && offsets[blocks - 1] + blockSpans[blocks - 1] > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Arrival times overflow: lower the process count or the mean gap");
+        }
+        long horizon = blocks == 0 ? 0 : offsets[blocks - 1] + blockSpans[blocks - 1];
+        for (long bursts : blockBursts) {
+            horizon += bursts;
+        }
+        if (horizon > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Last arrival plus total burst time is " + horizon + ", past the "
+                    + Integer.MAX_VALUE + " a schedule can reach: lower the process count or the mean burst");
+        }
+        tasks.clear();
+        for (int b = 1; b < blocks; b++) {
+            int from = b * BLOCK_SIZE;
+            int to = Math.min(from + BLOCK_SIZE, processes);
+            int offset = (int) offsets[b];
+            tasks.add(pool.submit(() -> {
+                for (int i = from; i < to; i++) {
+                    arrivalTimes[i] += offset;
+                }
+            }));
+        }
+        awaitAll(tasks);
+        return Workload.adopt(arrivalTimes, burstTimes, nices);
+    }
+
+    // Fills one block, arrivals relative to the block's start, sums its bursts into blockBursts
+    // and returns its last arrival. Each process takes its draws in a fixed order, so a block's
+    // content depends on its stream alone.
+    private long fillBlock(SplittableRandom random, int block, int[] arrivalTimes, int[] burstTimes, byte[] nices,
+                           long[] blockBursts) {
+        int from = block * BLOCK_SIZE;
+        int to = Math.min(from + BLOCK_SIZE, arrivalTimes.length);
+        double inBurstGap = meanGap / BURSTINESS;
+        double betweenBurstsGap = (meanGap - (1 - 1.0 / BURST_LENGTH) * inBurstGap) * BURST_LENGTH;
+        // Fractional parts carry over, so rounding does not drift the mean gap
+        double time = block == 0 ? 0 : gap(random, inBurstGap, betweenBurstsGap);
+        long bursts = 0;
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                time += gap(random, inBurstGap, betweenBurstsGap);
+            }
+            if (time > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Arrival times overflow: lower the process count or the mean gap");
+            }
+            arrivalTimes[i] = (int) time;
+            burstTimes[i] = burst(random);
+            bursts += burstTimes[i];
+            if (nices != null) {
+                nices[i] = (byte) random.nextInt(-niceSpread, Math.min(niceSpread, 19) + 1);
+            }
+        }
+        blockBursts[block] = bursts;
+        return to > from ? arrivalTimes[to - 1] : 0;
+    }
+
+    private double gap(SplittableRandom random, double inBurstGap, double betweenBurstsGap) {
+        if (arrivals == Arrivals.POISSON) {
+            return exponential(random, meanGap);
+        }
+        // A new burst starts with probability 1 / BURST_LENGTH
+        return random.nextInt(BURST_LENGTH) == 0 ? exponential(random, betweenBurstsGap) : exponential(random, inBurstGap);
+    }
+
+    private int burst(SplittableRandom random) {
+        double burst;
+        switch (bursts) {
+            case PARETO: {
+                double scale = meanBurst * (PARETO_SHAPE - 1) / PARETO_SHAPE;
+                burst = scale / Math.pow(1 - random.nextDouble(), 1 / PARETO_SHAPE);
+                break;
+            }
+            case BIMODAL: {
+                // Each mode spread +-25% around its mean; the modes' weighted means add up to meanBurst
+                boolean longJob = random.nextDouble() < LONG_JOB_SHARE;
+                double mode = longJob
+                        ? meanBurst * (1 - (1 - LONG_JOB_SHARE) * SHORT_JOB_SCALE) / LONG_JOB_SHARE
+                        : meanBurst * SHORT_JOB_SCALE;
+                burst = mode * (0.75 + 0.5 * random.nextDouble());
+                break;
+            }
+            default:
+                burst = 1 + exponential(random, meanBurst - 1);
+        }
+        return (int) Math.max(1, Math.min(Math.round(burst), MAX_BURST));
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+
+    private static void awaitAll(List<ForkJoinTask<?>> tasks) {
+        try {
+            for (ForkJoinTask<?> task : tasks) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Workload generation cancelled");
+                }
+                task.join();
+            }
+        } catch (RuntimeException | Error e) {
+            for (ForkJoinTask<?> task : tasks) {
+                task.cancel(false);
+            }
+            throw e;
+        }
+    }
+}